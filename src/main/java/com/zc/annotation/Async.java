@@ -0,0 +1,27 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 异步执行的方法，放在类上表示所有返回void、Future、CompletableFuture或CompletionStage的公共方法，其它方法仍同步执行
+ * 放在方法上时只能返回上述类型，返回的future在执行完成后完成，其它返回类型在创建代理时报错
+ * 执行器已关闭时，void方法只记录错误，有返回值的方法返回异常完成的future
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Async {
+
+    /**
+     * 执行器的bean名称，默认使用虚拟线程执行器
+     */
+    String value() default "asyncExecutor";
+}
@@ -0,0 +1,39 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存方法的返回值，相同参数再次调用时直接返回缓存的结果
+ * 缓存以name作为bean名称注册为单例，可以按名称注入；缓存的key只由参数组成，一个缓存只能属于一个方法（及其重写），不同方法使用同一个名称时报错
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Cacheable {
+
+    /**
+     * 缓存名称
+     */
+    String name();
+
+    /**
+     * 最大条目数
+     */
+    long maxSize() default 10000;
+
+    /**
+     * 写入后的过期时间，小于等于0时不过期
+     */
+    long ttl() default 0;
+
+    TimeUnit ttlUnit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,29 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 类路径中存在指定的类时才注册该bean
+ * 扫描时从class文件读取，条件不满足时bean类不会被加载
+ * 依赖的类可能不存在，优先使用name指定类名
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnClass {
+
+    Class<?>[] value() default {};
+
+    /**
+     * 类的全限定名
+     */
+    String[] name() default {};
+}
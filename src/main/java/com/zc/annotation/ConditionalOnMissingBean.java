@@ -0,0 +1,28 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 容器中没有指定类型或名称的bean时才注册该bean，都不指定时按该类本身判断
+ * 带有该注解的类在其它bean登记之后才判断，条件不满足时bean类不会被加载
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnMissingBean {
+
+    Class<?>[] value() default {};
+
+    /**
+     * bean名称
+     */
+    String[] name() default {};
+}
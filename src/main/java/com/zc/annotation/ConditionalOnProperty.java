@@ -0,0 +1,36 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 配置项满足条件时才注册该bean，配置项从系统属性和环境变量中读取
+ * 扫描时从class文件读取，条件不满足时bean类不会被加载
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalOnProperty {
+
+    /**
+     * 配置项名称，全部满足才注册
+     */
+    String[] name();
+
+    /**
+     * 期望的值，为空时只要配置项存在且不为false即满足
+     */
+    String havingValue() default "";
+
+    /**
+     * 配置项不存在时是否满足
+     */
+    boolean matchIfMissing() default false;
+}
@@ -0,0 +1,25 @@
+package com.zc.annotation;
+
+import com.zc.support.MethodInterceptor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 直接指定拦截器，放在类上拦截所有公共方法，放在方法上只拦截该方法
+ * 拦截器是容器中的bean时使用该bean，否则由容器创建
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Interceptors {
+
+    Class<? extends MethodInterceptor>[] value();
+}
@@ -0,0 +1,21 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 在bean放入容器、注入到其它bean之前执行，依赖的单例先执行；属性和方法注入的循环依赖中，提前拿到引用的一方可能看到未初始化的实例
+ * 容器启动时创建的单例按依赖顺序执行，互不依赖的单例可以并行执行
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PostConstruct {
+}
@@ -0,0 +1,44 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 定时执行单例bean的无参公共方法，fixedRate和fixedDelay必须且只能设置一个
+ * 容器中所有定时任务共用一个时间轮计时，到期后在执行器中执行，容器关闭时取消
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scheduled {
+
+    /**
+     * 按固定频率执行，从上一次计划执行的时间开始计算；上一次还没有执行完时跳过本次
+     */
+    long fixedRate() default -1;
+
+    /**
+     * 上一次执行完后间隔固定时间再执行
+     */
+    long fixedDelay() default -1;
+
+    /**
+     * 第一次执行前的延迟，从bean创建完成（启动时为所有@PostConstruct执行完）开始计算
+     */
+    long initialDelay() default 0;
+
+    TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * 执行任务的执行器名称，默认是虚拟线程执行器
+     */
+    String executor() default "asyncExecutor";
+}
@@ -0,0 +1,23 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * 软引用单例：容器只通过软引用持有实例，内存紧张或超出预算时可被回收，下次获取时重新创建
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Scope
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SoftSingleton {
+    /**
+     * 实例占用的预算权重，配合{@link com.zc.support.SoftSingletonCache}的预算做LRU淘汰
+     * @return
+     */
+    int weight() default 1;
+}
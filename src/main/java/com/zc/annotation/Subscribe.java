@@ -0,0 +1,31 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 订阅容器发布的事件，方法只能有一个参数，参数类型及其子类型的事件都会收到
+ * 只有单例bean的公共方法会被订阅
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Subscribe {
+
+    /**
+     * 是否在执行器中异步接收，为false时在发布线程中接收
+     */
+    boolean async() default false;
+
+    /**
+     * 异步接收时使用的执行器名称
+     */
+    String executor() default "asyncExecutor";
+}
@@ -0,0 +1,26 @@
+package com.zc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 注入配置值，例如：@Value("${server.port:8080}")，冒号后面是配置项不存在时的默认值
+ * 可以用在字段、@Inject构造方法和方法的参数上，字段不需要@Inject；配置值在第一次注入时解析并转换，之后直接使用
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Value {
+
+    /**
+     * 配置表达式，${}之外的部分原样保留
+     */
+    String value();
+}
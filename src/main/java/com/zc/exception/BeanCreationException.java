@@ -0,0 +1,22 @@
+package com.zc.exception;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Data
+@Slf4j
+public class BeanCreationException extends RuntimeException{
+
+    public BeanCreationException(String message) {
+        super(message);
+    }
+
+    public BeanCreationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,16 +1,39 @@
 package com.zc.support;
 
+import com.zc.annotation.Inject;
+import com.zc.annotation.Lazy;
 import com.zc.annotation.Named;
+import com.zc.annotation.PackageConfiguration;
+import com.zc.annotation.Provides;
 import com.zc.annotation.Qualifier;
 import com.zc.annotation.Singleton;
+import com.zc.annotation.SoftSingleton;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.util.CollectionUtils;
 
+import java.io.Closeable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * @author zhaochang.
@@ -18,12 +41,7 @@ import java.util.List;
  * @desc
  */
 @Slf4j
-public class ApplicationContext {
-
-    /**
-     * 单例对象
-     */
-    private static final ApplicationContext context = new ApplicationContext();
+public class ApplicationContext implements Closeable {
 
     /**
      * 文件扫描
@@ -40,29 +58,262 @@ public class ApplicationContext {
      */
     private List<Class<?>> classes;
 
+    /**
+     * 是否延迟创建单例
+     */
+    private boolean lazy;
+
+    /**
+     * 按需启动的包，未开启时为null
+     */
+    private OnDemandModules onDemandModules;
+
+    /**
+     * 条件注册的判断
+     */
+    private ConditionEvaluator conditionEvaluator;
+
+    /**
+     * 配置，@Value和@ConditionalOnProperty使用，子容器和插件使用父容器的配置
+     */
+    private PropertySources propertySources;
+
+    /**
+     * 配置文件监听，未开启时为null
+     */
+    private ConfigWatcher configWatcher;
+
+    /**
+     * 关闭时每个单例执行@PreDestroy的超时时间
+     */
+    private long shutdownTimeoutNanos = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * JVM关闭钩子，未注册时为null
+     */
+    private Thread shutdownHook;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * 本容器中单例的@Subscribe方法
+     */
+    private final EventBus eventBus = new EventBus();
+
+    /**
+     * 默认容器，第一次使用时创建
+     */
+    private static class DefaultContextHolder {
+        private static final ApplicationContext CONTEXT = new ApplicationContext();
+    }
+
     public static ApplicationContext createApplicationContext() {
-        return context;
+        return DefaultContextHolder.CONTEXT;
+    }
+
+    /**
+     * 创建独立容器的构建器
+     *
+     * @return
+     */
+    public static ApplicationContextBuilder builder() {
+        return new ApplicationContextBuilder();
     }
 
     private ApplicationContext() {
-        init();
+        init(ScanMode.CONFIGURATION, null, 1, new ArrayList<Module>(), Collections.<String>emptyList(), false);
+    }
+
+    ApplicationContext(ApplicationContextBuilder builder, ExecutorService executor) {
+        this.lazy = builder.isLazy();
+        this.shutdownTimeoutNanos = builder.getShutdownTimeoutNanos();
+        init(builder.getScanMode(), executor, builder.getParallelism(), builder.getModules(), builder.getPropertySources(), builder.isOnDemand(), builder.getPackages());
+        if (builder.isShutdownHook()) {
+            this.registerShutdownHook();
+        }
+        if (builder.isWatchPropertySources()) {
+            this.watchPropertySources();
+        }
+    }
+
+    /**
+     * 子容器：共享父容器的扫描结果和自定义注解，不重复扫描和创建bean
+     *
+     * @param parent
+     */
+    private ApplicationContext(ApplicationContext parent) {
+        this.lazy = parent.lazy;
+        this.shutdownTimeoutNanos = parent.shutdownTimeoutNanos;
+        this.fileScanner = parent.fileScanner;
+        this.conditionEvaluator = parent.conditionEvaluator;
+        this.propertySources = parent.propertySources;
+        this.classes = parent.classes;
+        this.factory = new DefaultFactory(parent.factory);
+    }
+
+    /**
+     * 插件容器：扫描插件类加载器中的类，作为子容器注册插件的bean
+     *
+     * @param parent
+     * @param pluginScanner
+     */
+    private ApplicationContext(ApplicationContext parent, FileScanner pluginScanner) {
+        this.lazy = parent.lazy;
+        this.shutdownTimeoutNanos = parent.shutdownTimeoutNanos;
+        this.fileScanner = pluginScanner;
+        this.propertySources = parent.propertySources;
+        this.conditionEvaluator = new ConditionEvaluator(pluginScanner.getClassLoader(), pluginScanner.getMetadataReaderFactory(), propertySources::getProperty);
+        pluginScanner.setClassFilter(conditionEvaluator::matches);
+        this.classes = pluginScanner.getClasses();
+        pluginScanner.clearMetadataCache();
+        Set<Class<?>> customizedAnnotations = new LinkedHashSet<>(parent.factory.getCustomizedAnnotations());
+        customizedAnnotations.addAll(this.initCustomizedAnnotations(classes));
+        this.factory = new DefaultFactory(parent.factory, customizedAnnotations);
+        this.start();
     }
 
-    private ApplicationContext(String... packages) {
-        init(packages);
+    /**
+     * 加载插件jar，插件的类由独立的类加载器加载，关闭插件后类加载器可以被回收
+     *
+     * @param jars     插件jar
+     * @param packages 插件中需要扫描的包
+     * @return
+     */
+    public PluginContext loadPlugin(URL[] jars, String... packages) {
+        if (null == packages || packages.length == 0) {
+            throw new IllegalArgumentException("plugin packages must not be empty");
+        }
+        URLClassLoader pluginClassLoader = new URLClassLoader(jars, Thread.currentThread().getContextClassLoader());
+        ApplicationContext pluginContext = new ApplicationContext(this, new FileScanner(pluginClassLoader, packages));
+        return new PluginContext(pluginContext, pluginClassLoader);
+    }
+
+    /**
+     * 释放容器持有的bean和类，插件卸载时调用
+     */
+    void release() {
+        eventBus.clear();
+        factory.clear();
+        classes = null;
+        fileScanner = null;
     }
 
-    private void init(String... packages) {
+    /**
+     * 创建子容器，子容器中注册的bean会覆盖父容器中同名的bean，其余bean委托给父容器
+     *
+     * @return
+     */
+    public ApplicationContext createChild() {
+        return new ApplicationContext(this);
+    }
+
+    private void init(ScanMode scanMode, ExecutorService executor, int parallelism, List<Module> modules, List<String> propertyLocations, boolean onDemand, String... packages) {
         // 创建文件扫描器
-        fileScanner = new FileScanner();
+        fileScanner = new FileScanner(scanMode, executor, parallelism);
         // 初始化需要扫描的包路径
         fileScanner.addPackages(packages);
+        // 配置只读取一次，之后只有监听到配置文件变化时重新读取该文件
+        propertySources = PropertySources.load(fileScanner.getClassLoader(), propertyLocations);
+        // 配置变化作为事件发布给本容器的订阅者
+        propertySources.addListener(this::publish);
+        ConfigView configView = new ConfigView(propertySources);
+        List<Module> allModules = new ArrayList<>(modules.size() + 1);
+        allModules.add(binder -> binder.bind(ConfigView.class).toInstance(configView));
+        allModules.addAll(modules);
+        modules = allModules;
+        // 条件不满足的类在加载前跳过
+        conditionEvaluator = new ConditionEvaluator(fileScanner.getClassLoader(), fileScanner.getMetadataReaderFactory(), propertySources::getProperty);
+        fileScanner.setClassFilter(conditionEvaluator::matches);
+        if (onDemand) {
+            // 元数据缓存保留到包启动时使用
+            this.initOnDemand(modules);
+            return;
+        }
         // 初始化当前需要扫描的包中的类
         classes = fileScanner.getClasses();
+        fileScanner.clearMetadataCache();
         // 初始化工厂
         factory = new DefaultFactory(this.initCustomizedAnnotations(classes));
+        factory.setPropertySources(propertySources);
+        // 先注册模块中的绑定，扫描的bean可能依赖这些绑定
+        for (Module module : modules) {
+            this.install(module);
+        }
+        // 模块中没有绑定默认执行器时注册默认的
+        factory.registerDefaultAsyncExecutor();
+        // 注册配置类中@Provides方法提供的bean
+        for (Class<?> clazz : classes) {
+            if (clazz.isAnnotationPresent(PackageConfiguration.class)) {
+                this.registerConfiguration(clazz);
+            }
+        }
         // 初始化bean(只初始化类上带有Named，Singleton和自定义注解的类)
-        this.initBean();
+        this.start();
+    }
+
+    /**
+     * 创建扫描到的bean，单例的@PostConstruct在放入容器前执行，依赖的单例先执行；全部创建完后开始执行@Scheduled方法
+     */
+    private void start() {
+        if (!lazy) {
+            factory.beginStart();
+        }
+        this.initBean(classes);
+        // 其它bean都登记后再判断@ConditionalOnMissingBean
+        this.initConditionalBeans();
+        factory.finishStart();
+    }
+
+    /**
+     * 按需启动：只读取每个包的元数据建立索引，不加载和注册包中的类
+     *
+     * @param modules
+     */
+    private void initOnDemand(List<Module> modules) {
+        onDemandModules = OnDemandModules.scan(fileScanner, this::activateModule);
+        classes = new CopyOnWriteArrayList<>();
+        factory = new DefaultFactory(onDemandModules.getQualifiers());
+        factory.setOnDemandModules(onDemandModules);
+        factory.setPropertySources(propertySources);
+        for (Module module : modules) {
+            this.install(module);
+        }
+        // 模块中没有绑定默认执行器时注册默认的
+        factory.registerDefaultAsyncExecutor();
+    }
+
+    /**
+     * 启动包：加载包中的类，注册配置类和bean，非延迟模式下创建单例
+     *
+     * @param module
+     */
+    private void activateModule(PackageModule module) {
+        List<Class<?>> moduleClasses = fileScanner.getSpecifiedPackageClasses(module.getPackageName());
+        classes.addAll(moduleClasses);
+        for (Class<?> clazz : moduleClasses) {
+            if (clazz.isAnnotationPresent(PackageConfiguration.class)) {
+                this.registerConfiguration(clazz);
+            }
+        }
+        this.initBean(moduleClasses);
+        this.initConditionalBeans();
+    }
+
+    /**
+     * 依次判断扫描时记下的@ConditionalOnMissingBean类，先满足条件的类登记后会影响后面的判断
+     */
+    private void initConditionalBeans() {
+        for (String className : conditionEvaluator.getDeferredClassNames()) {
+            Class<?> clazz = conditionEvaluator.loadIfMissing(className, factory);
+            if (null == clazz) {
+                continue;
+            }
+            classes.add(clazz);
+            if (clazz.isAnnotationPresent(PackageConfiguration.class)) {
+                this.registerConfiguration(clazz);
+            }
+            this.initBean(Collections.singletonList(clazz));
+        }
     }
 
     /**
@@ -86,54 +337,95 @@ public class ApplicationContext {
     /**
      * 初始化bean
      */
-    private void initBean() {
+    private void initBean(List<Class<?>> classes) {
         // 获取所有被管理的bean，封装成初始的beanDefinition对象
-        List<BeanDefinition> beanDefinitions = this.getNamedAnnotationBeanDefinitions();
+        List<BeanDefinition> beanDefinitions = this.getNamedAnnotationBeanDefinitions(classes);
         // 初始化beanMap
         this.initBeans(beanDefinitions);
     }
 
     private void initBeans(List<BeanDefinition> beanDefinitions) {
+        // 先登记所有定义再创建单例，单例之间属性和方法注入的循环依赖通过提前暴露的引用解决
+        factory.registerBeans(beanDefinitions);
+        // 处理器先于其它bean创建，延迟模式下也是
         for (BeanDefinition beanDefinition : beanDefinitions) {
-            factory.registerBean(beanDefinition);
+            if (factory.isLocalBeanDefinition(beanDefinition) && BeanPostProcessor.class.isAssignableFrom(beanDefinition.getBeanClass())) {
+                factory.addBeanPostProcessor((BeanPostProcessor) factory.getBean(beanDefinition.getBeanName()));
+            }
+        }
+        // 缓存在bean创建前注册，可以注入到任意bean
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (factory.isLocalBeanDefinition(beanDefinition)) {
+                factory.registerCaches(beanDefinition.getBeanClass());
+            }
+        }
+        eventBus.register(factory, this.getLocalBeanDefinitions(beanDefinitions));
+        if (!lazy) {
+            for (BeanDefinition beanDefinition : beanDefinitions) {
+                if (factory.isLocalBeanDefinition(beanDefinition) && !Scope.SCOPE_PROTOTYPE.equals(beanDefinition.getScope())) {
+                    factory.getBean(beanDefinition.getBeanName());
+                }
+            }
         }
         // 初始化bean属性
         // 因为前面在封装beanDefinition的时候可能会因为初始化的时候map中没有而导致没有给属性赋值
-        List<BeanDefinition> hasInit = new ArrayList<>();
+        // 按beanDefinition的编号记录已初始化的bean
+        BitSet hasInit = new BitSet(beanDefinitions.size());
         for (BeanDefinition beanDefinition : beanDefinitions) {
             initBean(beanDefinition, hasInit);
         }
     }
 
-    private void initBean(BeanDefinition beanDefinition, List<BeanDefinition> hasInit) {
-        if (hasInit.contains(beanDefinition)){
+    private void initBean(BeanDefinition beanDefinition, BitSet hasInit) {
+        if (!factory.isLocalBeanDefinition(beanDefinition) || hasInit.get(beanDefinition.getId())){
+            // 父容器的bean已经初始化过
+            return;
+        }
+        hasInit.set(beanDefinition.getId());
+        Object bean = factory.getCreatedBean(beanDefinition);
+        if (bean instanceof InterceptedProxy) {
+            // 属性注入到被代理的原始bean
+            bean = ((InterceptedProxy) bean).getTargetBean();
+        }
+        if (null == bean) {
+            // 软引用单例已被回收，下次获取时会完整重建
             return;
         }
-        hasInit.add(beanDefinition);
         Class<?> beanClass = beanDefinition.getBeanClass();
         Field[] fields = beanClass.getDeclaredFields();
         for (Field field : fields) {
             try {
+                if (field.isAnnotationPresent(Lazy.class)) {
+                    // 延迟注入的代理第一次调用时才解析
+                    continue;
+                }
                 field.setAccessible(true);
-                if (null != field.get(beanDefinition.getBean())){
+                boolean inject = field.isAnnotationPresent(Inject.class);
+                Object value = field.get(bean);
+                if (null != value) {
+                    if (inject && factory.isStaleMultiBinding(field, value)) {
+                        // 扫描时后面的bean还没有登记，集合需要在全部登记后重新注入
+                        factory.injectGenericField(field, bean);
+                    }
+                    continue;
+                }
+                if (inject && factory.injectGenericField(field, bean)) {
                     continue;
                 }
-                if (factory.checkProvider(field, beanDefinition.getBean())) {
+                if (factory.checkProvider(field, bean)) {
                     // 校验是否是provider修饰的
                     continue;
                 }
                 Class<?> type = field.getType();
                 if (factory.containsBean(type)) {
                     // 如果bean容器存在该类型
-                    if (!hasInit.contains(factory.getBeanDefinition(type))) {
-                        // 存在没有初始化则先初始化，然后赋值
-                        initBean(factory.getBeanDefinition(type), hasInit);
-                    }
-                    field.set(beanDefinition.getBean(), factory.getBean(type));
+                    // 存在没有初始化则先初始化，然后赋值
+                    initBean(factory.getBeanDefinition(type), hasInit);
+                    field.set(bean, factory.getBean(type));
                 } else {
                     // 不存在，检查是否有可以被初始化的注解@Named或自定义注解
                     if (factory.shouldBeInjected(field.getAnnotations(), type)) {
-                        field.set(beanDefinition.getBean(), factory.constructBean(type));
+                        field.set(bean, factory.constructBean(type));
                     }
                 }
             } catch (IllegalAccessException e) {
@@ -145,10 +437,10 @@ public class ApplicationContext {
     /**
      * 获取具有给定注解的BeanDefinition
      *
-     * @param singleton
+     * @param classes
      * @return
      */
-    private List<BeanDefinition> getNamedAnnotationBeanDefinitions() {
+    private List<BeanDefinition> getNamedAnnotationBeanDefinitions(List<Class<?>> classes) {
         List<BeanDefinition> beanDefinitions = new ArrayList<>();
         if (CollectionUtils.isEmpty(classes)) {
             log.info("no classes can be found");
@@ -157,14 +449,14 @@ public class ApplicationContext {
         for (Class<?> clazz : classes) {
             Annotation[] annotations = clazz.getDeclaredAnnotations();
             if (factory.shouldBeInjected(annotations, clazz)) {
-                beanDefinitions.add(this.toCompleteBeanDefinition(clazz, null));
+                beanDefinitions.add(this.toBeanDefinition(clazz, null));
             }
         }
         return beanDefinitions;
     }
 
     /**
-     * 用于自动给扫描的bean
+     * 只登记定义，不创建实例
      *
      * @param clazz
      * @param beanName
@@ -181,43 +473,80 @@ public class ApplicationContext {
                 beanName = namedAnnotation.value();
             }
         }
-        BeanDefinition beanDefinition = null;
-        beanDefinition = new BeanDefinition(beanName, factory.constructBean(clazz), clazz);
+        Scope scope = Scope.SCOPE_PROTOTYPE;
         Singleton singleton = clazz.getAnnotation(Singleton.class);
         if (null != singleton) {
             // 设置作用域为单例
-            beanDefinition.setScope(Scope.SCOPE_SINGLETON);
+            scope = Scope.SCOPE_SINGLETON;
         }
-        return beanDefinition;
+        if (clazz.isAnnotationPresent(SoftSingleton.class)) {
+            // 设置作用域为软引用单例
+            scope = Scope.SCOPE_SOFT_SINGLETON;
+        }
+        return new BeanDefinition(beanName, clazz, scope);
     }
 
     /**
-     * 用于手动注册的bean
+     * 登记手动注册的bean，单例立即创建
+     * 多例每次获取都会重新创建，这里创建的实例不会被使用，所以不创建
      *
      * @param clazz
      * @param beanName
-     * @return
      */
-    private BeanDefinition toCompleteBeanDefinition(Class<?> clazz, String beanName) {
-        if (StringUtils.isEmpty(beanName)) {
-            Named namedAnnotation = clazz.getAnnotation(Named.class);
-            // 有该注解，查看是否有自定义的bean名称，没有使用类名首字母小写
-            String simpleName = clazz.getSimpleName();
-            beanName = simpleName.substring(0, 1).toLowerCase() + simpleName.substring(1);
-            if (null != namedAnnotation && !StringUtils.isEmpty(namedAnnotation.value())) {
-                // 有自定义注解名称
-                beanName = namedAnnotation.value();
-            }
+    private void registerCompleteBean(Class<?> clazz, String beanName) {
+        BeanDefinition beanDefinition = this.toBeanDefinition(clazz, beanName);
+        factory.registerBean(beanDefinition);
+        eventBus.register(factory, this.getLocalBeanDefinitions(Collections.singletonList(beanDefinition)));
+        if (!lazy && factory.isLocalBeanDefinition(beanDefinition) && !Scope.SCOPE_PROTOTYPE.equals(beanDefinition.getScope())) {
+            // 延迟模式下只登记定义，单例在第一次获取时创建
+            factory.getBean(beanDefinition.getBeanName());
         }
-        BeanDefinition beanDefinition = new BeanDefinition(beanName, factory.constructBean(clazz), clazz);
-        Singleton singleton = clazz.getAnnotation(Singleton.class);
-        if (null != singleton) {
-            // 设置作用域为单例
-            beanDefinition.setScope(Scope.SCOPE_SINGLETON);
+    }
+
+    /**
+     * 注册模块中声明的绑定，不经过扫描
+     *
+     * @param module
+     */
+    public void install(Module module) {
+        Binder binder = new Binder();
+        module.configure(binder);
+        binder.applyTo(factory);
+    }
+
+    /**
+     * 注册配置类中@Provides方法提供的bean，方法句柄和参数信息在注册时解析，配置类在第一次调用实例方法时创建
+     *
+     * @param configurationClass
+     */
+    public void registerConfiguration(Class<?> configurationClass) {
+        Supplier<Object> configuration = ProvidesMethod.configuration(factory, configurationClass);
+        for (Method method : configurationClass.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(Provides.class)) {
+                continue;
+            }
+            Named named = method.getAnnotation(Named.class);
+            String beanName = null == named || StringUtils.isEmpty(named.value()) ? method.getName() : named.value();
+            Scope scope = method.isAnnotationPresent(Singleton.class) ? Scope.SCOPE_SINGLETON : Scope.SCOPE_PROTOTYPE;
+            Class<? extends Annotation> qualifier = null;
+            for (Annotation annotation : method.getAnnotations()) {
+                if (factory.isQualifier(annotation.annotationType())) {
+                    qualifier = annotation.annotationType();
+                }
+            }
+            factory.registerBean(new BeanDefinition(beanName, method.getReturnType(), scope,
+                    new ProvidesMethod(factory, method, configuration), qualifier));
         }
-        return beanDefinition;
     }
 
+    /**
+     * 添加bean后置处理器，只处理之后创建的bean
+     *
+     * @param processor
+     */
+    public void addBeanPostProcessor(BeanPostProcessor processor) {
+        factory.addBeanPostProcessor(processor);
+    }
 
     public void printBeans() {
         factory.listBean();
@@ -235,25 +564,218 @@ public class ApplicationContext {
         return (T) bean;
     }
 
+    /**
+     * 根据完整的泛型类型获取bean，例如：getBean(new TypeLiteral&lt;Repository&lt;User&gt;&gt;() {})
+     *
+     * @param typeLiteral
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getBean(TypeLiteral<T> typeLiteral) {
+        return (T) factory.getBean(typeLiteral.getKey());
+    }
+
     public void registerBean(Class<?> beanClass) {
-        if (factory.containsBean(beanClass)) {
+        if (factory.containsLocalBean(beanClass)) {
             return;
         } else {
-            BeanDefinition beanDefinition = this.toCompleteBeanDefinition(beanClass, null);
-            factory.registerBean(beanDefinition);
+            this.registerCompleteBean(beanClass, null);
         }
     }
 
     public void registerBean(Class<?> beanClass, String beanName) {
-        if (factory.containsBean(beanClass)) {
+        if (factory.containsLocalBean(beanClass)) {
             return;
         } else {
-            BeanDefinition beanDefinition = this.toCompleteBeanDefinition(beanClass, beanName);
-            factory.registerBean(beanDefinition);
+            this.registerCompleteBean(beanClass, beanName);
+        }
+    }
+
+    /**
+     * 批量注册bean：先登记所有定义并统一建立索引，再创建单例（延迟模式下第一次获取时创建）
+     *
+     * @param beanClasses
+     */
+    public void registerBeans(Collection<Class<?>> beanClasses) {
+        Map<Class<?>, String> namedBeanClasses = new LinkedHashMap<>();
+        for (Class<?> beanClass : beanClasses) {
+            namedBeanClasses.put(beanClass, null);
+        }
+        this.registerBeans(namedBeanClasses);
+    }
+
+    /**
+     * 批量注册bean
+     *
+     * @param namedBeanClasses key：bean类型 value：bean名称，为null时使用默认名称
+     */
+    public void registerBeans(Map<Class<?>, String> namedBeanClasses) {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>(namedBeanClasses.size());
+        for (Map.Entry<Class<?>, String> entry : namedBeanClasses.entrySet()) {
+            if (!factory.containsLocalBean(entry.getKey())) {
+                beanDefinitions.add(this.toBeanDefinition(entry.getKey(), entry.getValue()));
+            }
+        }
+        factory.registerBeans(beanDefinitions);
+        eventBus.register(factory, this.getLocalBeanDefinitions(beanDefinitions));
+        if (lazy) {
+            return;
+        }
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (!Scope.SCOPE_PROTOTYPE.equals(beanDefinition.getScope())) {
+                factory.getBean(beanDefinition.getBeanName());
+            }
         }
     }
 
     public Object getBean(String name) {
         return factory.getBean(name);
     }
+
+    /**
+     * 监听本地配置文件，文件变化后重新读取并发布ConfigChangedEvent，容器关闭时停止
+     * 子容器和插件使用父容器的配置，由父容器监听
+     */
+    public synchronized void watchPropertySources() {
+        if (null != configWatcher || closed.get() || null != factory.getParent()) {
+            return;
+        }
+        configWatcher = ConfigWatcher.start(propertySources);
+    }
+
+    /**
+     * 获取配置项，查找顺序：系统属性、环境变量、配置文件
+     *
+     * @param key
+     * @return 不存在时返回null
+     */
+    public String getProperty(String key) {
+        return propertySources.getProperty(key);
+    }
+
+    /**
+     * 发布事件：同步订阅者在当前线程中按注册顺序接收，异步订阅者在各自的执行器中按发布顺序接收（队列满时除外）
+     *
+     * @param event
+     */
+    public void publish(Object event) {
+        eventBus.publish(Objects.requireNonNull(event));
+    }
+
+    /**
+     * 同名的bean已在本容器中登记时，被忽略的定义不订阅事件
+     */
+    private List<BeanDefinition> getLocalBeanDefinitions(Collection<BeanDefinition> beanDefinitions) {
+        List<BeanDefinition> localBeanDefinitions = new ArrayList<>(beanDefinitions.size());
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (factory.isLocalBeanDefinition(beanDefinition)) {
+                localBeanDefinitions.add(beanDefinition);
+            }
+        }
+        return localBeanDefinitions;
+    }
+
+    /**
+     * 注册JVM关闭钩子，进程退出时关闭容器
+     */
+    public synchronized void registerShutdownHook() {
+        if (null != shutdownHook || closed.get()) {
+            return;
+        }
+        shutdownHook = new Thread(this::close, "zc-shutdown-hook");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * 关闭容器：按依赖的逆序执行本容器中单例的@PreDestroy，互不依赖的单例并行执行
+     * 每个单例最多等待shutdownTimeout，超时的回调会被中断，不影响其它单例的关闭
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (this) {
+            if (null != shutdownHook && Thread.currentThread() != shutdownHook) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(shutdownHook);
+                } catch (IllegalStateException e) {
+                    // JVM正在关闭
+                }
+            }
+            shutdownHook = null;
+            if (null != configWatcher) {
+                configWatcher.close();
+                configWatcher = null;
+            }
+        }
+        ExecutorService shutdownExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "zc-shutdown");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            factory.destroySingletons(shutdownExecutor, shutdownTimeoutNanos);
+        } finally {
+            shutdownExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * @Async执行器的指标
+     *
+     * @return key：执行器名称
+     */
+    public Map<String, AsyncExecutor.Metrics> getAsyncExecutorMetrics() {
+        Map<String, AsyncExecutor.Metrics> metrics = new LinkedHashMap<>();
+        for (Object executor : factory.getMultiBinding(AsyncExecutor.class).getList(factory)) {
+            AsyncExecutor asyncExecutor = (AsyncExecutor) executor;
+            metrics.put(asyncExecutor.getName(), asyncExecutor.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * @Cacheable缓存的命中、未命中和淘汰统计
+     *
+     * @return key：缓存名称
+     */
+    public Map<String, BoundedCache.Stats> getCacheStats() {
+        Map<String, BoundedCache.Stats> stats = new LinkedHashMap<>();
+        for (Object cache : factory.getMultiBinding(BoundedCache.class).getList(factory)) {
+            BoundedCache<?, ?> boundedCache = (BoundedCache<?, ?>) cache;
+            stats.put(boundedCache.getName(), boundedCache.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 设置软引用单例的权重预算，超出后按LRU淘汰
+     *
+     * @param budget
+     */
+    public void setSoftSingletonBudget(long budget) {
+        factory.getSoftSingletonCache().setBudget(budget);
+    }
+
+    public long getSoftSingletonEvictionCount() {
+        return factory.getSoftSingletonCache().getEvictionCount();
+    }
+
+    public long getSoftSingletonRebuildCount() {
+        return factory.getSoftSingletonCache().getRebuildCount();
+    }
+
+    /**
+     * 按需启动的包的启动耗时，未开启按需启动时为空
+     *
+     * @return key：包名 value：启动耗时（毫秒）
+     */
+    public Map<String, Long> getModuleActivationTimes() {
+        return null == onDemandModules ? Collections.emptyMap() : onDemandModules.getActivationTimes();
+    }
 }
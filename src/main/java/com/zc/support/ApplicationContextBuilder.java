@@ -0,0 +1,232 @@
+package com.zc.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 容器构建器，每次build都会创建一个独立的容器，容器之间不共享任何状态
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class ApplicationContextBuilder {
+
+    /**
+     * 需要扫描的包
+     */
+    private final List<String> packages = new ArrayList<>();
+
+    /**
+     * 扫描方式
+     */
+    private ScanMode scanMode = ScanMode.CONFIGURATION;
+
+    /**
+     * 是否延迟创建单例
+     */
+    private boolean lazy;
+
+    /**
+     * 是否按需启动包，启动时只读取类文件的元数据，第一次获取包中的bean时才扫描该包
+     */
+    private boolean onDemand;
+
+    /**
+     * 启动时的并行度，大于1时并行扫描；包括调用线程，指定了线程池时最多占用其中parallelism-1个线程
+     */
+    private int parallelism = 1;
+
+    /**
+     * 启动使用的线程池，由调用方管理生命周期；parallelism为1时不使用
+     */
+    private ExecutorService executor;
+
+    /**
+     * 关闭时每个单例执行@PreDestroy的超时时间
+     */
+    private long shutdownTimeoutNanos = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * 是否注册JVM关闭钩子
+     */
+    private boolean shutdownHook;
+
+    /**
+     * 配置文件，classpath:开头的从类路径读取
+     */
+    private final List<String> propertySources = new ArrayList<>();
+
+    /**
+     * 是否监听配置文件的变化
+     */
+    private boolean watchPropertySources;
+
+    /**
+     * 编程式绑定模块
+     */
+    private final List<Module> modules = new ArrayList<>();
+
+    ApplicationContextBuilder() {
+    }
+
+    public ApplicationContextBuilder packages(String... packages) {
+        this.packages.addAll(Arrays.asList(packages));
+        return this;
+    }
+
+    public ApplicationContextBuilder scanMode(ScanMode scanMode) {
+        this.scanMode = scanMode;
+        return this;
+    }
+
+    public ApplicationContextBuilder lazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
+    public ApplicationContextBuilder onDemand(boolean onDemand) {
+        this.onDemand = onDemand;
+        return this;
+    }
+
+    public ApplicationContextBuilder parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive, parallelism:" + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ApplicationContextBuilder shutdownTimeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("shutdown timeout must be positive, timeout:" + timeout);
+        }
+        this.shutdownTimeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    public ApplicationContextBuilder shutdownHook(boolean shutdownHook) {
+        this.shutdownHook = shutdownHook;
+        return this;
+    }
+
+    /**
+     * 添加配置文件，后添加的覆盖先添加的；类路径下的application.properties总是最先读取
+     *
+     * @param locations 例如：classpath:app.properties、/etc/app/app.properties
+     * @return
+     */
+    public ApplicationContextBuilder propertySources(String... locations) {
+        this.propertySources.addAll(Arrays.asList(locations));
+        return this;
+    }
+
+    /**
+     * 监听本地配置文件，变化后重新读取，通过ConfigView读取的值和ConfigChangedEvent订阅者立即生效
+     *
+     * @param watchPropertySources
+     * @return
+     */
+    public ApplicationContextBuilder watchPropertySources(boolean watchPropertySources) {
+        this.watchPropertySources = watchPropertySources;
+        return this;
+    }
+
+    public ApplicationContextBuilder modules(Module... modules) {
+        this.modules.addAll(Arrays.asList(modules));
+        return this;
+    }
+
+    /**
+     * 注册@Async使用的执行器，名称为asyncExecutor时替换默认的虚拟线程执行器
+     * 执行器作为单例bean注册，容器关闭时关闭
+     *
+     * @param asyncExecutor
+     * @return
+     */
+    public ApplicationContextBuilder asyncExecutor(AsyncExecutor asyncExecutor) {
+        this.modules.add(binder -> binder.bind(AsyncExecutor.class).named(asyncExecutor.getName()).toInstance(asyncExecutor));
+        return this;
+    }
+
+    public ApplicationContextBuilder executor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * 创建容器
+     *
+     * @return
+     */
+    public ApplicationContext build() {
+        if (null != executor || parallelism < 2) {
+            return new ApplicationContext(this, executor);
+        }
+        // 没有指定线程池时只在启动期间使用临时线程池，调用线程也参与扫描
+        ExecutorService startupExecutor = Executors.newFixedThreadPool(parallelism - 1);
+        try {
+            return new ApplicationContext(this, startupExecutor);
+        } finally {
+            startupExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 异步创建容器，多个容器可以同时启动
+     * 指定了线程池时在该线程池上创建；并行扫描时创建线程会执行还没被领取的扫描任务，线程池的大小不影响能否完成
+     *
+     * @return
+     */
+    public CompletableFuture<ApplicationContext> buildAsync() {
+        ExecutorService buildExecutor = null == executor ? ForkJoinPool.commonPool() : executor;
+        return CompletableFuture.supplyAsync(this::build, buildExecutor);
+    }
+
+    String[] getPackages() {
+        return packages.toArray(new String[0]);
+    }
+
+    ScanMode getScanMode() {
+        return scanMode;
+    }
+
+    List<String> getPropertySources() {
+        return propertySources;
+    }
+
+    boolean isWatchPropertySources() {
+        return watchPropertySources;
+    }
+
+    List<Module> getModules() {
+        return modules;
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    boolean isLazy() {
+        return lazy;
+    }
+
+    boolean isOnDemand() {
+        return onDemand;
+    }
+
+    long getShutdownTimeoutNanos() {
+        return shutdownTimeoutNanos;
+    }
+
+    boolean isShutdownHook() {
+        return shutdownHook;
+    }
+}
@@ -0,0 +1,267 @@
+package com.zc.support;
+
+import com.zc.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 容器管理的执行器，@Async方法按名称使用，本身也是单例bean，可以注入
+ * 线程池在第一次提交任务时创建，容器关闭时等待已提交的任务执行完（受关闭超时限制）
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+public class AsyncExecutor implements Executor {
+
+    public static final String DEFAULT_NAME = "asyncExecutor";
+
+    public enum Kind {
+        /**
+         * 每个任务一个虚拟线程，运行环境不支持时每个任务使用缓存线程池中的线程
+         */
+        VIRTUAL,
+        /**
+         * ForkJoinPool，按提交顺序执行
+         */
+        FORK_JOIN,
+        /**
+         * 固定大小的线程池
+         */
+        FIXED
+    }
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final Kind kind;
+
+    private final int parallelism;
+
+    private volatile ExecutorService executorService;
+
+    private volatile boolean shutdown;
+
+    /**
+     * 已提交还没有开始执行的任务数
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final LongAdder started = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * 从提交到开始执行的等待时间
+     */
+    private final LongAdder totalQueueNanos = new LongAdder();
+
+    private final LongAccumulator maxQueueNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder totalRunNanos = new LongAdder();
+
+    private AsyncExecutor(String name, Kind kind, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive, parallelism:" + parallelism);
+        }
+        this.name = name;
+        this.kind = kind;
+        this.parallelism = parallelism;
+    }
+
+    public static AsyncExecutor virtual(String name) {
+        return new AsyncExecutor(name, Kind.VIRTUAL, 1);
+    }
+
+    public static AsyncExecutor forkJoin(String name, int parallelism) {
+        return new AsyncExecutor(name, Kind.FORK_JOIN, parallelism);
+    }
+
+    public static AsyncExecutor fixed(String name, int threads) {
+        return new AsyncExecutor(name, Kind.FIXED, threads);
+    }
+
+    private ExecutorService getExecutorService() {
+        ExecutorService executorService = this.executorService;
+        if (null == executorService) {
+            synchronized (this) {
+                executorService = this.executorService;
+                if (null == executorService) {
+                    if (shutdown) {
+                        throw new RejectedExecutionException("executor has been shut down, executor:" + name);
+                    }
+                    executorService = this.createExecutorService();
+                    this.executorService = executorService;
+                }
+            }
+        }
+        return executorService;
+    }
+
+    private ExecutorService createExecutorService() {
+        switch (kind) {
+            case FORK_JOIN:
+                return new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+            case FIXED:
+                return Executors.newFixedThreadPool(parallelism, this.newThreadFactory());
+            default:
+                return this.newVirtualThreadExecutor();
+        }
+    }
+
+    /**
+     * 运行环境支持虚拟线程时使用虚拟线程，通过反射调用以兼容Java 8
+     *
+     * @return
+     */
+    private ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.info("virtual threads are not supported, use cached thread pool, executor:{}", name);
+            return Executors.newCachedThreadPool(this.newThreadFactory());
+        }
+    }
+
+    private ThreadFactory newThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long submitTime = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            this.getExecutorService().execute(() -> {
+                long startTime = System.nanoTime();
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                started.increment();
+                totalQueueNanos.add(startTime - submitTime);
+                maxQueueNanos.accumulate(startTime - submitTime);
+                try {
+                    task.run();
+                    completed.increment();
+                } catch (RuntimeException | Error e) {
+                    failed.increment();
+                    throw e;
+                } finally {
+                    active.decrementAndGet();
+                    totalRunNanos.add(System.nanoTime() - startTime);
+                }
+            });
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 不再接受新任务，等待已提交的任务执行完；容器关闭超时会中断等待并停止执行中的任务
+     */
+    @PreDestroy
+    public void shutdown() {
+        ExecutorService executorService;
+        synchronized (this) {
+            shutdown = true;
+            executorService = this.executorService;
+        }
+        if (null == executorService) {
+            return;
+        }
+        executorService.shutdown();
+        try {
+            while (!executorService.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.info("waiting for async tasks, executor:{}, queued:{}, active:{}", name, queued.get(), active.get());
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public Metrics getMetrics() {
+        long startedCount = started.sum();
+        long completedCount = completed.sum();
+        long failedCount = failed.sum();
+        long finished = completedCount + failedCount;
+        return new Metrics(name, kind, queued.get(), active.get(), completedCount, failedCount,
+                startedCount == 0 ? 0 : totalQueueNanos.sum() / startedCount, maxQueueNanos.get(),
+                finished == 0 ? 0 : totalRunNanos.sum() / finished);
+    }
+
+    /**
+     * 执行器指标快照
+     */
+    @Getter
+    public static class Metrics {
+
+        private final String name;
+
+        private final Kind kind;
+
+        /**
+         * 等待执行的任务数
+         */
+        private final int queueDepth;
+
+        private final int activeCount;
+
+        private final long completedCount;
+
+        private final long failedCount;
+
+        /**
+         * 平均等待时间（纳秒），包含还在执行的任务的等待时间
+         */
+        private final long averageQueueNanos;
+
+        private final long maxQueueNanos;
+
+        /**
+         * 平均执行时间（纳秒）
+         */
+        private final long averageRunNanos;
+
+        Metrics(String name, Kind kind, int queueDepth, int activeCount, long completedCount, long failedCount,
+                long averageQueueNanos, long maxQueueNanos, long averageRunNanos) {
+            this.name = name;
+            this.kind = kind;
+            this.queueDepth = queueDepth;
+            this.activeCount = activeCount;
+            this.completedCount = completedCount;
+            this.failedCount = failedCount;
+            this.averageQueueNanos = averageQueueNanos;
+            this.maxQueueNanos = maxQueueNanos;
+            this.averageRunNanos = averageRunNanos;
+        }
+    }
+}
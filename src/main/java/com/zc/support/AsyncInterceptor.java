@@ -0,0 +1,97 @@
+package com.zc.support;
+
+import com.zc.exception.BeanCreationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * @Async方法的拦截器，总是在拦截器链的最前面，其余拦截器和目标方法都在执行器中执行
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class AsyncInterceptor implements MethodInterceptor {
+
+    private final AsyncExecutor executor;
+
+    private final boolean returnsVoid;
+
+    AsyncInterceptor(AsyncExecutor executor, Method method) {
+        if (!isAsyncReturnType(method)) {
+            throw new BeanCreationException("@Async method must return void, Future, CompletableFuture or CompletionStage, method:" + method);
+        }
+        this.executor = executor;
+        this.returnsVoid = void.class.equals(method.getReturnType());
+    }
+
+    /**
+     * 方法的返回类型是否可以异步执行
+     *
+     * @param method
+     * @return
+     */
+    static boolean isAsyncReturnType(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return void.class.equals(returnType) || Future.class.equals(returnType)
+                || CompletableFuture.class.equals(returnType) || CompletionStage.class.equals(returnType);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) {
+        MethodInvocation detached = invocation.copy();
+        if (returnsVoid) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        detached.proceed();
+                    } catch (Throwable e) {
+                        log.error("async method failed, method:{}, 错误信息:{}", detached.getMethod(), e.getMessage());
+                    }
+                });
+            } catch (RuntimeException e) {
+                // 执行器已关闭，和有返回值的方法一样不抛给调用方
+                log.error("async method rejected, method:{}, 错误信息:{}", detached.getMethod(), e.getMessage());
+            }
+            return null;
+        }
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    Object value = detached.proceed();
+                    if (value instanceof CompletionStage) {
+                        ((CompletionStage<?>) value).whenComplete((completedValue, e) -> {
+                            if (null == e) {
+                                result.complete(completedValue);
+                            } else {
+                                result.completeExceptionally(e);
+                            }
+                        });
+                    } else if (value instanceof Future) {
+                        // 只实现了Future的结果在执行器线程中等待完成
+                        try {
+                            result.complete(((Future<?>) value).get());
+                        } catch (ExecutionException e) {
+                            result.completeExceptionally(e.getCause());
+                        }
+                    } else {
+                        result.complete(value);
+                    }
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 执行器已关闭
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+}
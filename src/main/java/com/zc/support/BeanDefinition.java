@@ -1,49 +1,79 @@
 package com.zc.support;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Getter;
+
+import java.lang.annotation.Annotation;
+import java.util.function.Supplier;
 
 /**
+ * bean的元数据，创建后不可变，按对象身份比较
+ * 单例实例不在这里持有，由{@link DefaultFactory}单独保存
+ *
  * @author zhaochang.
  * @Date 2022/2/26.
  * @desc
  */
-@Data
-public class BeanDefinition {
+@Getter
+public final class BeanDefinition {
     /**
      * bean的名字
      */
-    private String beanName;
-    /**
-     * bean对象
-     */
-    private Object bean;
+    private final String beanName;
     /**
      * 每个类对应的class对象
      */
-    private Class<?> beanClass;
+    private final Class<?> beanClass;
 
     /**
      * 作用域
      */
-    private Scope scope;
+    private final Scope scope;
+
+    /**
+     * 创建实例的supplier，通过Module绑定时使用，不做反射注入
+     */
+    private final Supplier<?> supplier;
+
+    /**
+     * 限定注解，通过Module绑定时指定
+     */
+    private final Class<? extends Annotation> qualifier;
+
+    /**
+     * 注册到容器时分配的连续编号，未注册时为-1
+     */
+    private int id = -1;
 
-    public BeanDefinition(String beanName, Object bean, Class beanClass, Scope scope) {
+    public BeanDefinition(String beanName, Class<?> beanClass, Scope scope, Supplier<?> supplier, Class<? extends Annotation> qualifier) {
         this.beanName = beanName;
-        this.bean = bean;
         this.beanClass = beanClass;
         this.scope = scope;
+        this.supplier = supplier;
+        this.qualifier = qualifier;
     }
 
-    public BeanDefinition() {
-        this.scope = Scope.SCOPE_PROTOTYPE;
+    public BeanDefinition(String beanName, Class<?> beanClass, Scope scope) {
+        this(beanName, beanClass, scope, null, null);
     }
 
-    public BeanDefinition(String beanName, Object bean, Class beanClass) {
-        this.beanName = beanName;
-        this.bean = bean;
-        this.beanClass = beanClass;
-        this.scope = Scope.SCOPE_PROTOTYPE;
+    public BeanDefinition(String beanName, Class<?> beanClass) {
+        this(beanName, beanClass, Scope.SCOPE_PROTOTYPE);
+    }
+
+    /**
+     * 注册时分配编号，只能分配一次
+     *
+     * @param id
+     */
+    void assignId(int id) {
+        if (this.id >= 0) {
+            throw new IllegalStateException("beanDefinition has been registered, beanName:" + beanName);
+        }
+        this.id = id;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanDefinition(id=" + id + ", beanName=" + beanName + ", beanClass=" + beanClass + ", scope=" + scope + ")";
     }
 }
@@ -0,0 +1,93 @@
+package com.zc.support;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * bean创建后的扩展点：注入完成后、@PostConstruct前后各执行一次，可以校验、包装或替换bean
+ * 处理器声明适用的类型和注解，容器按bean的类预先算好处理器链，不匹配的类不会调用处理器
+ * 处理器本身不会被其它处理器处理
+ * 单例之间属性和方法注入的循环依赖中，对方拿到的是提前暴露的引用（有拦截器时是代理），处理器不会作用于这个引用；
+ * 这时处理器返回了另一个对象（包装或替换）会抛出{@link com.zc.exception.CircularDependencyException}，避免同一个单例有两个身份
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface BeanPostProcessor {
+
+    /**
+     * 适用的类型，bean是其中任意类型的子类时执行；和注解都为空时适用于所有bean
+     *
+     * @return
+     */
+    default Set<Class<?>> getTargetTypes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * 适用的注解，bean的类上带有其中任意注解时执行
+     *
+     * @return
+     */
+    default Set<Class<? extends Annotation>> getTargetAnnotations() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * 执行顺序，小的先执行，相同时按添加顺序
+     *
+     * @return
+     */
+    default int getOrder() {
+        return 0;
+    }
+
+    /**
+     * 注入完成后，@PostConstruct之前执行
+     *
+     * @param bean
+     * @param beanClass
+     * @return 处理后的bean，返回null时保留原bean并跳过后面的处理器
+     */
+    default Object postProcessBeforeInitialization(Object bean, Class<?> beanClass) {
+        return bean;
+    }
+
+    /**
+     * @PostConstruct之后执行，容器启动和延迟创建时顺序相同
+     *
+     * @param bean
+     * @param beanClass
+     * @return 处理后的bean，返回null时保留原bean并跳过后面的处理器
+     */
+    default Object postProcessAfterInitialization(Object bean, Class<?> beanClass) {
+        return bean;
+    }
+
+    /**
+     * 是否适用于该类，按类计算一次
+     *
+     * @param beanClass
+     * @return
+     */
+    default boolean appliesTo(Class<?> beanClass) {
+        Set<Class<?>> targetTypes = this.getTargetTypes();
+        Set<Class<? extends Annotation>> targetAnnotations = this.getTargetAnnotations();
+        if (targetTypes.isEmpty() && targetAnnotations.isEmpty()) {
+            return true;
+        }
+        for (Class<?> targetType : targetTypes) {
+            if (targetType.isAssignableFrom(beanClass)) {
+                return true;
+            }
+        }
+        for (Class<? extends Annotation> targetAnnotation : targetAnnotations) {
+            if (beanClass.isAnnotationPresent(targetAnnotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
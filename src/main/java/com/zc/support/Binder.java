@@ -0,0 +1,144 @@
+package com.zc.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 收集Module中声明的绑定，再统一注册到容器
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+public class Binder {
+
+    private final List<BindingBuilder<?>> bindings = new ArrayList<>();
+
+    Binder() {
+    }
+
+    /**
+     * 绑定类型，默认绑定到自身
+     *
+     * @param type
+     * @return
+     */
+    public <T> BindingBuilder<T> bind(Class<T> type) {
+        BindingBuilder<T> binding = new BindingBuilder<>(type);
+        bindings.add(binding);
+        return binding;
+    }
+
+    /**
+     * 把绑定注册到容器
+     *
+     * @param factory
+     */
+    void applyTo(DefaultFactory factory) {
+        for (BindingBuilder<?> binding : bindings) {
+            if (null != binding.qualifier) {
+                factory.addCustomizedAnnotation(binding.qualifier);
+            }
+            BeanDefinition beanDefinition = binding.toBeanDefinition();
+            factory.registerBean(beanDefinition);
+            if (!factory.isLocalBeanDefinition(beanDefinition)) {
+                // 同名的bean已经存在，绑定被忽略，实例和类型绑定都不登记
+                log.warn("binding ignored, bean name already registered, name:{}, type:{}", beanDefinition.getBeanName(), binding.type.getName());
+                continue;
+            }
+            factory.addSingleton(beanDefinition, binding.instance);
+            if (null == binding.qualifier) {
+                // 带限定注解的绑定不能占用类型默认的绑定
+                factory.bindType(binding.type, beanDefinition.getBeanName());
+            }
+        }
+    }
+
+    public static class BindingBuilder<T> {
+
+        private final Class<T> type;
+
+        private Class<? extends T> implementation;
+
+        private T instance;
+
+        private Supplier<? extends T> supplier;
+
+        private String beanName;
+
+        private Class<? extends Annotation> qualifier;
+
+        private Scope scope = Scope.SCOPE_PROTOTYPE;
+
+        private BindingBuilder(Class<T> type) {
+            this.type = type;
+            this.implementation = type;
+        }
+
+        public BindingBuilder<T> to(Class<? extends T> implementation) {
+            this.implementation = implementation;
+            return this;
+        }
+
+        /**
+         * 绑定到已有实例，作用域为单例
+         *
+         * @param instance
+         * @return
+         */
+        public BindingBuilder<T> toInstance(T instance) {
+            this.instance = instance;
+            this.scope = Scope.SCOPE_SINGLETON;
+            return this;
+        }
+
+        /**
+         * 由supplier创建实例，不做反射注入
+         *
+         * @param supplier
+         * @return
+         */
+        public BindingBuilder<T> toSupplier(Supplier<? extends T> supplier) {
+            this.supplier = supplier;
+            return this;
+        }
+
+        public BindingBuilder<T> named(String beanName) {
+            this.beanName = beanName;
+            return this;
+        }
+
+        public BindingBuilder<T> annotatedWith(Class<? extends Annotation> qualifier) {
+            this.qualifier = qualifier;
+            return this;
+        }
+
+        public BindingBuilder<T> in(Scope scope) {
+            this.scope = scope;
+            return this;
+        }
+
+        public BindingBuilder<T> asSingleton() {
+            return in(Scope.SCOPE_SINGLETON);
+        }
+
+        private BeanDefinition toBeanDefinition() {
+            Class<?> beanClass = null == supplier && null == instance ? implementation : type;
+            String name = beanName;
+            if (null == name) {
+                String simpleName = beanClass.getSimpleName();
+                name = simpleName.substring(0, 1).toLowerCase() + simpleName.substring(1);
+                if (null != qualifier) {
+                    // 同一类型可以有多个限定的绑定
+                    name = qualifier.getSimpleName().substring(0, 1).toLowerCase() + qualifier.getSimpleName().substring(1) + type.getSimpleName();
+                }
+            }
+            return new BeanDefinition(name, beanClass, scope, supplier, qualifier);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.zc.support;
+
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 有界的并发缓存，淘汰策略为W-TinyLFU：
+ * 新条目先进入窗口区（容量的1%，LRU），从窗口区淘汰的条目和主区（保护区80%、试用区20%，分段LRU）最久未访问的条目比较访问频率，频率高的留下
+ * 读取不加锁，访问记录在抢不到锁时直接丢弃，只影响淘汰的精度；写入和淘汰在锁内执行
+ * 过期的条目在读取时移除，不单独清理，会随容量淘汰
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class BoundedCache<K, V> {
+
+    private static final int WINDOW = 0;
+
+    private static final int PROBATION = 1;
+
+    private static final int PROTECTED = 2;
+
+    private static final int REMOVED = -1;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final long maximumSize;
+
+    /**
+     * 写入后的过期时间（纳秒），0表示不过期
+     */
+    private final long expireAfterWriteNanos;
+
+    private final long maxWindow;
+
+    private final long maxProtected;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final FrequencySketch sketch;
+
+    private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+
+    private final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>();
+
+    private final AccessOrderQueue<K, V> protectedQueue = new AccessOrderQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, long maximumSize, long expireAfterWrite, TimeUnit unit) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("cache maximum size must be positive, name:" + name);
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWrite > 0 ? unit.toNanos(expireAfterWrite) : 0;
+        this.maxWindow = Math.max(1, maximumSize / 100);
+        this.maxProtected = (maximumSize - maxWindow) * 8 / 10;
+        this.data = new ConcurrentHashMap<>((int) Math.min(maximumSize, 1 << 16));
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    public BoundedCache(String name, long maximumSize) {
+        this(name, maximumSize, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 获取缓存的值，不存在或已过期时返回null
+     *
+     * @param key
+     * @return
+     */
+    public V get(K key) {
+        Node<K, V> node = data.get(key);
+        if (null == node || this.isExpired(node, System.nanoTime())) {
+            if (null != node) {
+                this.remove(node);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        this.recordRead(node);
+        return node.value;
+    }
+
+    /**
+     * 获取缓存的值，不存在时计算并放入缓存；计算不加锁，同一个key并发未命中时可能计算多次
+     *
+     * @param key
+     * @param loader 返回null时不缓存
+     * @return
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = this.get(key);
+        if (null != value) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (null != value) {
+            this.put(key, value);
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        long now = System.nanoTime();
+        Node<K, V> node = new Node<>(key, value, now);
+        Node<K, V> existing = data.putIfAbsent(key, node);
+        evictionLock.lock();
+        try {
+            if (null != existing) {
+                existing.value = value;
+                existing.writeNanos = now;
+                this.onAccess(existing);
+            } else if (data.get(key) == node) {
+                // 放入后可能已被并发移除
+                this.onInsert(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        Node<K, V> node = data.get(key);
+        if (null != node) {
+            this.remove(node);
+        }
+    }
+
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                this.unlink(node);
+            }
+            data.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long size() {
+        return data.size();
+    }
+
+    public Stats getStats() {
+        return new Stats(name, maximumSize, data.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return expireAfterWriteNanos > 0 && now - node.writeNanos >= expireAfterWriteNanos;
+    }
+
+    /**
+     * 读取时抢不到锁就放弃记录，读多写少时读取不会阻塞
+     */
+    private void recordRead(Node<K, V> node) {
+        if (evictionLock.tryLock()) {
+            try {
+                this.onAccess(node);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        evictionLock.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                this.unlink(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToBack(node);
+                break;
+            case PROBATION:
+                // 试用区再次访问，晋升到保护区，保护区满时把最久未访问的降回试用区
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.add(node);
+                if (protectedQueue.size > maxProtected) {
+                    Node<K, V> demoted = protectedQueue.poll();
+                    demoted.queue = PROBATION;
+                    probation.add(demoted);
+                }
+                break;
+            case PROTECTED:
+                protectedQueue.moveToBack(node);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void onInsert(Node<K, V> node) {
+        sketch.increment(node.key);
+        node.queue = WINDOW;
+        window.add(node);
+        if (window.size <= maxWindow) {
+            return;
+        }
+        Node<K, V> candidate = window.poll();
+        candidate.queue = PROBATION;
+        probation.add(candidate);
+        if (data.size() <= maximumSize) {
+            return;
+        }
+        // 候选者和主区最久未访问的条目比较频率，频率相同时淘汰候选者，避免一次性的访问冲掉热点
+        Node<K, V> victim = null != probation.head && probation.head != candidate ? probation.head : protectedQueue.head;
+        if (null == victim || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+            this.evict(candidate);
+        } else {
+            this.evict(victim);
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            evictions.increment();
+        }
+        this.unlink(node);
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedQueue.remove(node);
+                break;
+            default:
+                break;
+        }
+        node.queue = REMOVED;
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+
+        private volatile V value;
+
+        private volatile long writeNanos;
+
+        /**
+         * 以下字段只在锁内访问
+         */
+        private int queue = REMOVED;
+
+        private Node<K, V> prev;
+
+        private Node<K, V> next;
+
+        Node(K key, V value, long writeNanos) {
+            this.key = key;
+            this.value = value;
+            this.writeNanos = writeNanos;
+        }
+    }
+
+    /**
+     * 按访问顺序排列的双向链表，头部是最久未访问的
+     */
+    private static final class AccessOrderQueue<K, V> {
+
+        private Node<K, V> head;
+
+        private Node<K, V> tail;
+
+        private long size;
+
+        void add(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (null == tail) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        Node<K, V> poll() {
+            Node<K, V> node = head;
+            if (null != node) {
+                this.remove(node);
+            }
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (null == node.prev) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (null == node.next) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (tail != node) {
+                this.remove(node);
+                this.add(node);
+            }
+        }
+    }
+
+    /**
+     * 缓存统计快照
+     */
+    @Getter
+    public static class Stats {
+
+        private final String name;
+
+        private final long maximumSize;
+
+        private final long size;
+
+        private final long hitCount;
+
+        private final long missCount;
+
+        /**
+         * 因容量淘汰的条目数，不包含过期和主动移除的
+         */
+        private final long evictionCount;
+
+        Stats(String name, long maximumSize, long size, long hitCount, long missCount, long evictionCount) {
+            this.name = name;
+            this.maximumSize = maximumSize;
+            this.size = size;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 1.0 : (double) hitCount / requests;
+        }
+    }
+}
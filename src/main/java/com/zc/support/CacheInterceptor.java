@@ -0,0 +1,77 @@
+package com.zc.support;
+
+import com.zc.exception.BeanCreationException;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * @Cacheable方法的拦截器，在@Async之后、其余拦截器之前执行，命中时不再执行后面的拦截器和目标方法
+ * key由参数组成，没有参数时所有调用共用一个key；缓存只属于一个方法，所以key不需要包含方法；返回null也会缓存
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+final class CacheInterceptor implements MethodInterceptor {
+
+    private static final Object NO_ARGUMENTS = new Object();
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final BoundedCache<Object, Object> cache;
+
+    CacheInterceptor(BoundedCache<Object, Object> cache, Method method) {
+        if (void.class.equals(method.getReturnType())) {
+            throw new BeanCreationException("@Cacheable method must have a return value, method:" + method);
+        }
+        this.cache = cache;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object key = toKey(invocation.getArguments());
+        Object value = cache.get(key);
+        if (null == value) {
+            value = invocation.proceed();
+            cache.put(key, null == value ? NULL_VALUE : value);
+            return value;
+        }
+        return value == NULL_VALUE ? null : value;
+    }
+
+    private static Object toKey(Object[] arguments) {
+        if (null == arguments || arguments.length == 0) {
+            return NO_ARGUMENTS;
+        }
+        if (arguments.length == 1 && null != arguments[0] && !arguments[0].getClass().isArray()) {
+            return arguments[0];
+        }
+        return new ArgumentsKey(arguments);
+    }
+
+    /**
+     * 多个参数或数组参数的key，参数数组会被复用，需要复制
+     */
+    private static final class ArgumentsKey {
+
+        private final Object[] arguments;
+
+        private final int hash;
+
+        ArgumentsKey(Object[] arguments) {
+            this.arguments = arguments.clone();
+            this.hash = Arrays.deepHashCode(this.arguments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof ArgumentsKey && hash == ((ArgumentsKey) o).hash && Arrays.deepEquals(arguments, ((ArgumentsKey) o).arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
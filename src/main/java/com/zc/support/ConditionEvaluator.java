@@ -0,0 +1,212 @@
+package com.zc.support;
+
+import com.zc.annotation.ConditionalOnClass;
+import com.zc.annotation.ConditionalOnMissingBean;
+import com.zc.annotation.ConditionalOnProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * 条件注册：扫描时从class文件读取条件注解，条件不满足的类不会被加载，也不会执行静态初始化
+ * {@link ConditionalOnClass}和{@link ConditionalOnProperty}在扫描时判断
+ * {@link ConditionalOnMissingBean}需要知道其它bean，扫描时先记下，其它bean登记后再按类名顺序判断
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+public class ConditionEvaluator {
+
+    private final ClassLoader classLoader;
+
+    private final MetadataReaderFactory metadataReaderFactory;
+
+    /**
+     * 配置项读取
+     */
+    private final Function<String, String> properties;
+
+    /**
+     * 等待判断的@ConditionalOnMissingBean类，并行扫描时按类名排序保证顺序稳定
+     * key：类名
+     */
+    private final Map<String, MissingBeanCondition> deferred = new ConcurrentSkipListMap<>();
+
+    public ConditionEvaluator(ClassLoader classLoader) {
+        this(classLoader, new SimpleMetadataReaderFactory(new DefaultResourceLoader(classLoader)), ConditionEvaluator::getSystemProperty);
+    }
+
+    /**
+     * @param classLoader
+     * @param metadataReaderFactory 和扫描器共用，已经读取过的class文件不再解析
+     * @param properties
+     */
+    public ConditionEvaluator(ClassLoader classLoader, MetadataReaderFactory metadataReaderFactory, Function<String, String> properties) {
+        this.classLoader = classLoader;
+        this.metadataReaderFactory = metadataReaderFactory;
+        this.properties = properties;
+    }
+
+    private static String getSystemProperty(String key) {
+        String value = System.getProperty(key);
+        return null == value ? System.getenv(key) : value;
+    }
+
+    /**
+     * 扫描时判断是否加载该类
+     *
+     * @param className
+     * @return false：条件不满足或者需要等其它bean登记后再判断
+     */
+    public boolean matches(String className) {
+        AnnotationMetadata metadata;
+        try {
+            metadata = metadataReaderFactory.getMetadataReader(className).getAnnotationMetadata();
+        } catch (IOException e) {
+            // 读取失败按普通类加载，由加载时报告错误
+            log.error("读取类信息失败:{}, 错误信息:{}", className, e.getMessage());
+            return true;
+        }
+        if (!this.matchesOnClass(metadata) || !this.matchesOnProperty(metadata)) {
+            log.info("condition not matched, skip class:{}", className);
+            return false;
+        }
+        Map<String, Object> missingBean = metadata.getAnnotationAttributes(ConditionalOnMissingBean.class.getName(), true);
+        if (null != missingBean) {
+            deferred.put(className, new MissingBeanCondition((String[]) missingBean.get("value"), (String[]) missingBean.get("name")));
+            return false;
+        }
+        return true;
+    }
+
+    private boolean matchesOnClass(AnnotationMetadata metadata) {
+        // 类名按字符串读取，依赖的类不存在时也不会报错
+        Map<String, Object> onClass = metadata.getAnnotationAttributes(ConditionalOnClass.class.getName(), true);
+        if (null == onClass) {
+            return true;
+        }
+        for (String key : new String[]{"value", "name"}) {
+            for (String className : (String[]) onClass.get(key)) {
+                if (!this.isPresent(className)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 只查找class文件，不加载类
+     *
+     * @param className
+     * @return
+     */
+    private boolean isPresent(String className) {
+        return null != classLoader.getResource(className.replace('.', '/') + ".class");
+    }
+
+    private boolean matchesOnProperty(AnnotationMetadata metadata) {
+        Map<String, Object> onProperty = metadata.getAnnotationAttributes(ConditionalOnProperty.class.getName());
+        if (null == onProperty) {
+            return true;
+        }
+        String havingValue = (String) onProperty.get("havingValue");
+        boolean matchIfMissing = (Boolean) onProperty.get("matchIfMissing");
+        for (String name : (String[]) onProperty.get("name")) {
+            String value = properties.apply(name);
+            if (null == value) {
+                if (!matchIfMissing) {
+                    return false;
+                }
+                continue;
+            }
+            boolean matched = StringUtils.isEmpty(havingValue) ? !"false".equalsIgnoreCase(value) : havingValue.equalsIgnoreCase(value);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 等待判断的@ConditionalOnMissingBean类名
+     *
+     * @return
+     */
+    public List<String> getDeferredClassNames() {
+        return new ArrayList<>(deferred.keySet());
+    }
+
+    /**
+     * 判断@ConditionalOnMissingBean条件，满足时加载该类
+     *
+     * @param className
+     * @param factory
+     * @return 条件满足时返回加载的类，否则返回null
+     */
+    public Class<?> loadIfMissing(String className, DefaultFactory factory) {
+        MissingBeanCondition condition = deferred.remove(className);
+        if (null == condition) {
+            return null;
+        }
+        for (String beanName : condition.names) {
+            if (factory.containsBean(beanName)) {
+                log.info("bean:{} exists, skip class:{}", beanName, className);
+                return null;
+            }
+        }
+        String[] typeNames = condition.types;
+        if (typeNames.length == 0 && condition.names.length == 0) {
+            // 都不指定时按该类本身判断
+            typeNames = new String[]{className};
+        }
+        for (String typeName : typeNames) {
+            if (this.containsBean(typeName, factory)) {
+                log.info("bean of type:{} exists, skip class:{}", typeName, className);
+                return null;
+            }
+        }
+        try {
+            return classLoader.loadClass(className);
+        } catch (ClassNotFoundException e) {
+            log.error("未找到类:{}, 错误信息:{}", className, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean containsBean(String typeName, DefaultFactory factory) {
+        Class<?> type;
+        try {
+            // 只加载不初始化
+            type = Class.forName(typeName, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            // 类型都不存在，自然没有该类型的bean
+            return false;
+        }
+        return factory.containsBean(type) || factory.getMultiBinding(type).size() > 0;
+    }
+
+    private static class MissingBeanCondition {
+
+        private final String[] types;
+
+        private final String[] names;
+
+        private MissingBeanCondition(String[] types, String[] names) {
+            this.types = types;
+            this.names = names;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.zc.support;
+
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * 配置文件重新读取后，实际生效的值有变化时发布，bean可以用@Subscribe接收
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+public class ConfigChangedEvent {
+
+    /**
+     * 值有变化的配置项，包括新增和删除的
+     */
+    private final Set<String> changedKeys;
+
+    /**
+     * 新快照的版本号
+     */
+    private final long version;
+
+    ConfigChangedEvent(Set<String> changedKeys, long version) {
+        this.changedKeys = changedKeys;
+        this.version = version;
+    }
+}
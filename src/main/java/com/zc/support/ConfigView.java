@@ -0,0 +1,92 @@
+package com.zc.support;
+
+import com.zc.annotation.Provider;
+
+/**
+ * 读取当前配置的句柄，容器中的单例，可以注入
+ * 每次读取都是当前快照中的值，配置文件重新读取后立即可见；@Value注入的值是创建bean时的常量，不会变化
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public final class ConfigView {
+
+    private final PropertySources propertySources;
+
+    ConfigView(PropertySources propertySources) {
+        this.propertySources = propertySources;
+    }
+
+    /**
+     * @param key
+     * @return 不存在时返回null
+     */
+    public String get(String key) {
+        return propertySources.getProperty(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = propertySources.getProperty(key);
+        return null == value ? defaultValue : value;
+    }
+
+    /**
+     * 当前快照的版本号，每次配置文件内容变化加1
+     *
+     * @return
+     */
+    public long getVersion() {
+        return propertySources.getSnapshot().getVersion();
+    }
+
+    /**
+     * 绑定一个配置项，转换后的值保存在快照中，快照没有变化时get()只有一次volatile读和一次哈希查找
+     *
+     * @param key
+     * @param type         转换的类型，和@Value支持的类型相同
+     * @param defaultValue 配置项不存在时的值
+     * @return
+     */
+    public <T> Provider<T> bind(String key, Class<T> type, T defaultValue) {
+        // 第一次get()时才转换，格式错误在读取时报告
+        return new BoundValue<>(propertySources, key, type, defaultValue);
+    }
+
+    private static final class BoundValue<T> implements Provider<T> {
+
+        /**
+         * 转换结果为null时放入快照的占位值
+         */
+        private static final Object NULL = new Object();
+
+        private final PropertySources propertySources;
+
+        private final String key;
+
+        private final Class<T> type;
+
+        private final T defaultValue;
+
+        BoundValue(PropertySources propertySources, String key, Class<T> type, T defaultValue) {
+            this.propertySources = propertySources;
+            this.key = key;
+            this.type = type;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get() {
+            PropertySources.Snapshot snapshot = propertySources.getSnapshot();
+            Object converted = snapshot.getConverted(this);
+            if (null != converted) {
+                return NULL == converted ? null : (T) converted;
+            }
+            String text = propertySources.getProperty(snapshot, key);
+            T value = null == text ? defaultValue : (T) ValueConverters.convert(text, type);
+            snapshot.putConverted(this, null == value ? NULL : value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.zc.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 监听本地配置文件所在的目录，文件修改或被替换（编辑器保存时常见）后只重新读取该文件
+ * 删除文件不会清空配置，保留最后一次读取的值
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class ConfigWatcher implements Closeable {
+
+    private final PropertySources propertySources;
+
+    /**
+     * key：文件路径 value：配置文件
+     */
+    private final Map<Path, String> files;
+
+    private final WatchService watchService;
+
+    private ConfigWatcher(PropertySources propertySources, Map<Path, String> files, WatchService watchService) {
+        this.propertySources = propertySources;
+        this.files = files;
+        this.watchService = watchService;
+    }
+
+    /**
+     * 开始监听
+     *
+     * @param propertySources
+     * @return 没有本地配置文件时返回null
+     */
+    static ConfigWatcher start(PropertySources propertySources) {
+        Map<Path, String> files = propertySources.getLocalFiles();
+        if (files.isEmpty()) {
+            return null;
+        }
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> directories = new LinkedHashSet<>();
+            for (Path file : files.keySet()) {
+                directories.add(file.getParent());
+            }
+            for (Path directory : directories) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            }
+        } catch (IOException e) {
+            log.warn("can not watch property files:{}, 错误信息:{}", files.keySet(), e.getMessage());
+            return null;
+        }
+        ConfigWatcher watcher = new ConfigWatcher(propertySources, files, watchService);
+        Thread thread = new Thread(watcher::run, "zc-config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        return watcher;
+    }
+
+    private void run() {
+        try {
+            for (; ; ) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                // 一次保存常常产生多个事件，同一批事件中的文件只读取一次
+                Set<String> changed = new LinkedHashSet<>();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        for (Map.Entry<Path, String> entry : files.entrySet()) {
+                            if (entry.getKey().getParent().equals(directory)) {
+                                changed.add(entry.getValue());
+                            }
+                        }
+                        continue;
+                    }
+                    String location = files.get(directory.resolve((Path) event.context()));
+                    if (null != location) {
+                        changed.add(location);
+                    }
+                }
+                key.reset();
+                for (String location : changed) {
+                    propertySources.reload(location);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 容器关闭
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.warn("close config watcher failed, 错误信息:{}", e.getMessage());
+        }
+    }
+}
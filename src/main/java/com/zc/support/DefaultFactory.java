@@ -1,27 +1,52 @@
 package com.zc.support;
 
+import com.zc.annotation.Async;
+import com.zc.annotation.Cacheable;
 import com.zc.annotation.Inject;
+import com.zc.annotation.Interceptors;
+import com.zc.annotation.Lazy;
 import com.zc.annotation.Named;
 import com.zc.annotation.Provider;
 import com.zc.annotation.Singleton;
+import com.zc.annotation.SoftSingleton;
+import com.zc.annotation.TemplatePrototype;
+import com.zc.annotation.Value;
+import com.zc.exception.BeanCreationException;
+import com.zc.exception.BeanNotFoundException;
 import com.zc.exception.CircularDependencyException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * @author zhaochang.
@@ -42,121 +67,1232 @@ public class DefaultFactory implements BeanFactory {
     private final Map<Class<?>, String> beanTypeMap = new ConcurrentHashMap<>(64);
 
     /**
-     * bean名称
+     * 类型索引，key：bean类型及其所有父类型、接口 value：按注册顺序排列的beanDefinition
      */
-    private final Set<String> beanNames = new HashSet<>(64);
+    private final Map<Class<?>, List<BeanDefinition>> typeIndex = new ConcurrentHashMap<>(64);
 
     /**
-     * 自定义注解
+     * 泛型类型索引，key：bean实现的带泛型参数的父类型、接口，例如Repository&lt;User&gt;
      */
-    private List<Class<?>> customizedAnnotations;
+    private final Map<TypeKey, List<BeanDefinition>> genericTypeIndex = new ConcurrentHashMap<>(16);
 
     /**
-     * bean缓存，处理循环依赖
+     * 集合注入和泛型注入的成员，注册新bean时清空
      */
-    private List<Class<?>> cashedBean = new ArrayList<>(32);
+    private final Map<TypeKey, MultiBinding> multiBindings = new ConcurrentHashMap<>(16);
 
-    public DefaultFactory(List<Class<?>> customizedAnnotations) {
-        this.customizedAnnotations = customizedAnnotations;
+    /**
+     * 解析后的类型，同一个类型只解析一次，相同类型得到同一个key
+     */
+    private final Map<Type, TypeKey> typeKeys = new ConcurrentHashMap<>(64);
+
+    /**
+     * 注入点（属性、方法、构造方法）解析后的类型
+     */
+    private final Map<Member, TypeKey[]> injectionKeys = new ConcurrentHashMap<>(64);
+
+    /**
+     * 单例实例，key：beanDefinition（按对象身份比较）
+     */
+    private final Map<BeanDefinition, Object> singletonObjects = new ConcurrentHashMap<>(64);
+
+    /**
+     * 提前暴露的单例：已经实例化但还没有完成属性注入，用于解决属性和方法注入的单例循环依赖
+     * 只在创建单例的线程持有该单例的锁期间存在，其它线程会等待创建完成
+     */
+    private final Map<BeanDefinition, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
+
+    /**
+     * 提前暴露的引用已经被其它bean拿到的单例，value：拿到的引用，有拦截器时是代理；创建完成后的单例就是这个引用
+     */
+    private final Map<BeanDefinition, Object> earlyReferences = new ConcurrentHashMap<>(16);
+
+    /**
+     * 当前线程正在创建的单例，栈顶是最内层
+     */
+    private final ThreadLocal<Deque<BeanDefinition>> creatingSingletons = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * 单例之间的依赖，key：单例 value：创建时获取过的单例，关闭时按依赖的逆序销毁
+     */
+    private final Map<BeanDefinition, Set<BeanDefinition>> dependencies = new ConcurrentHashMap<>(64);
+
+    /**
+     * 单例第一次创建完成的顺序
+     */
+    private final Map<BeanDefinition, Integer> creationOrder = new ConcurrentHashMap<>(64);
+
+    private final AtomicInteger nextCreationOrder = new AtomicInteger();
+
+    /**
+     * 容器启动期间创建的带有@Scheduled方法的单例，所有@PostConstruct执行完后再开始定时执行
+     */
+    private volatile List<Runnable> pendingSchedules;
+
+    /**
+     * 定时任务，第一次创建带有@Scheduled方法的单例时创建
+     */
+    private TaskScheduler taskScheduler;
+
+    /**
+     * bean后置处理器，按order排序
+     */
+    private final List<BeanPostProcessor> beanPostProcessors = new CopyOnWriteArrayList<>();
+
+    /**
+     * 每个类匹配的处理器链（父容器的处理器在前），登记bean时预先计算，没有匹配的处理器时是同一个空数组
+     */
+    private final Map<Class<?>, BeanPostProcessor[]> processorChains = new ConcurrentHashMap<>(64);
+
+    /**
+     * 每个被拦截的类的拦截器链，和InterceptedType.getMethods()一一对应，第一次创建该类的bean时计算
+     * 登记新的bean时清空，新登记的拦截器对之后创建的bean生效
+     */
+    private final Map<Class<?>, InterceptorChain[]> interceptorChains = new ConcurrentHashMap<>(16);
+
+    /**
+     * 缓存所属的@Cacheable方法，key：缓存名称；缓存的key只由参数组成，不同方法不能共用一个缓存
+     */
+    private final Map<String, Method> cacheMethods = new ConcurrentHashMap<>(16);
+
+    /**
+     * @Value使用的配置，子容器和父容器共用
+     */
+    private PropertySources propertySources;
+
+    /**
+     * 已解析的@Value字段，之后每次注入只写入常量
+     */
+    private final Map<Field, ValueField> valueFields = new ConcurrentHashMap<>(16);
+
+    /**
+     * 已解析的@Value参数值，key：参数类型 value：key：配置表达式
+     */
+    private final Map<Class<?>, Map<String, Object>> parameterValues = new ConcurrentHashMap<>(16);
+
+    /**
+     * 下一个beanDefinition编号
+     */
+    private final AtomicInteger nextBeanId = new AtomicInteger();
+
+    /**
+     * 自定义注解（限定注解）
+     */
+    private final Set<Class<?>> customizedAnnotations;
+
+    /**
+     * 限定注解绑定的索引，bean类型及其父类型都会登记
+     */
+    private final Map<QualifierKey, BeanDefinition> qualifierIndex = new ConcurrentHashMap<>(16);
+
+    /**
+     * 注入点的限定注解解析结果，包括没有显式绑定时找到的子类，注册新bean时清空
+     */
+    private final Map<QualifierKey, BeanDefinition> resolvedQualifiers = new ConcurrentHashMap<>(16);
+
+    /**
+     * 注入点上限定注解规范化后的值，按注解实例的引用缓存，注册新bean时不需要清空
+     */
+    private final Map<QualifierKey.AnnotationReference, Object> normalizedQualifiers = new ConcurrentHashMap<>(16);
+
+    /**
+     * 当前线程正在创建的bean，处理循环依赖；按线程隔离，多个线程可以同时创建bean
+     */
+    private final ThreadLocal<List<Class<?>>> cashedBean = ThreadLocal.withInitial(() -> new ArrayList<>(32));
+
+    /**
+     * 软引用单例缓存
+     */
+    private final SoftSingletonCache softSingletonCache = new SoftSingletonCache();
+
+    /**
+     * 多例模板，key：bean类型
+     */
+    private final Map<Class<?>, PrototypeTemplate> prototypeTemplates = new ConcurrentHashMap<>(16);
+
+    /**
+     * 不能使用模板创建的类型
+     */
+    private final Set<Class<?>> templateUnsupported = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 父容器，本容器找不到的bean委托给父容器
+     */
+    private final DefaultFactory parent;
+
+    /**
+     * 按需启动的包，找不到bean时启动声明了该bean的包
+     */
+    private volatile OnDemandModules onDemandModules;
+
+    private static final BeanPostProcessor[] NO_PROCESSORS = new BeanPostProcessor[0];
+
+    public DefaultFactory(Collection<Class<?>> customizedAnnotations) {
+        this.customizedAnnotations = ConcurrentHashMap.newKeySet();
+        this.customizedAnnotations.addAll(customizedAnnotations);
+        this.parent = null;
+    }
+
+    /**
+     * 创建子容器，复制父容器的自定义注解，只持有自己覆盖的bean和单例
+     * 子容器之后登记的限定注解不会影响父容器
+     *
+     * @param parent
+     */
+    public DefaultFactory(DefaultFactory parent) {
+        this.customizedAnnotations = ConcurrentHashMap.newKeySet();
+        this.customizedAnnotations.addAll(parent.customizedAnnotations);
+        this.parent = parent;
+        this.propertySources = parent.propertySources;
+    }
+
+    /**
+     * 创建子容器，使用指定的自定义注解（插件可能有自己的自定义注解）
+     *
+     * @param parent
+     * @param customizedAnnotations
+     */
+    public DefaultFactory(DefaultFactory parent, Collection<Class<?>> customizedAnnotations) {
+        this.customizedAnnotations = ConcurrentHashMap.newKeySet();
+        this.customizedAnnotations.addAll(customizedAnnotations);
+        this.parent = parent;
+        this.propertySources = parent.propertySources;
+    }
+
+    public DefaultFactory getParent() {
+        return parent;
+    }
+
+    public void setOnDemandModules(OnDemandModules onDemandModules) {
+        this.onDemandModules = onDemandModules;
+    }
+
+    public void setPropertySources(PropertySources propertySources) {
+        this.propertySources = propertySources;
+    }
+
+    public PropertySources getPropertySources() {
+        return propertySources;
+    }
+
+    /**
+     * 按名称启动按需启动的包
+     *
+     * @param beanName
+     * @return 是否需要重新查找
+     */
+    private boolean activateByName(String beanName) {
+        return null != onDemandModules && null != beanName && onDemandModules.activateByName(beanName);
+    }
+
+    /**
+     * 按类型启动按需启动的包
+     *
+     * @param type
+     * @return 是否需要重新查找
+     */
+    private boolean activateByType(Class<?> type) {
+        return null != onDemandModules && onDemandModules.activateByType(type);
+    }
+
+    public Set<Class<?>> getCustomizedAnnotations() {
+        return customizedAnnotations;
+    }
+
+    /**
+     * 是否是限定注解
+     *
+     * @param annotationType
+     * @return
+     */
+    public boolean isQualifier(Class<? extends Annotation> annotationType) {
+        return customizedAnnotations.contains(annotationType);
+    }
+
+    /**
+     * 清空本容器持有的bean和所有以Class为key的缓存，插件卸载时调用
+     */
+    public void clear() {
+        beanDefinitionMap.clear();
+        beanTypeMap.clear();
+        qualifierIndex.clear();
+        resolvedQualifiers.clear();
+        normalizedQualifiers.clear();
+        typeIndex.clear();
+        genericTypeIndex.clear();
+        multiBindings.clear();
+        typeKeys.clear();
+        injectionKeys.clear();
+        singletonObjects.clear();
+        dependencies.clear();
+        creationOrder.clear();
+        prototypeTemplates.clear();
+        templateUnsupported.clear();
+        beanPostProcessors.clear();
+        processorChains.clear();
+        interceptorChains.clear();
+        valueFields.clear();
+        parameterValues.clear();
+        cashedBean.remove();
+        creatingSingletons.remove();
+    }
+
+    @Override
+    public Object getBean(String name) {
+        return getBeanByName(name);
+    }
+
+    /**
+     * 根据类型获取bean
+     * @param requiredType
+     * @return
+     */
+    @Override
+    public Object getBean(Class<?> requiredType) {
+        String beanName = this.resolveBeanName(requiredType);
+        if (null == beanName) {
+            beanName = checkInterface(requiredType);
+        }
+        return getBeanByName(beanName);
+    }
+
+    /**
+     * 校验是否是接口并返回对应的bean名称
+     * @param requiredType
+     * @return
+     */
+    private String checkInterface(Class<?> requiredType) {
+        if (requiredType.isInterface()) {
+            // 需要获取他的实现类，取最先注册的实现
+            BeanDefinition beanDefinition = this.getMultiBinding(requiredType).first();
+            if (null != beanDefinition) {
+                return beanDefinition.getBeanName();
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 获取该类型的所有实现，本容器的同名bean覆盖父容器的bean
+     *
+     * @param type
+     * @return
+     */
+    public MultiBinding getMultiBinding(Class<?> type) {
+        return this.getMultiBinding(this.getTypeKey(type));
+    }
+
+    /**
+     * 获取该泛型类型的所有实现，没有泛型参数时按原始类型查找
+     *
+     * @param key
+     * @return
+     */
+    public MultiBinding getMultiBinding(TypeKey key) {
+        MultiBinding multiBinding = multiBindings.get(key);
+        if (null == multiBinding) {
+            this.activateByType(key.getRawType());
+            multiBinding = new MultiBinding(new ArrayList<>(this.getMembers(key).values()));
+            multiBindings.put(key, multiBinding);
+        }
+        return multiBinding;
+    }
+
+    private Map<String, BeanDefinition> getMembers(TypeKey key) {
+        Map<String, BeanDefinition> members = null == parent ? new LinkedHashMap<>() : parent.getMembers(key);
+        List<BeanDefinition> indexed = key.isParameterized() ? genericTypeIndex.get(key) : typeIndex.get(key.getRawType());
+        for (BeanDefinition beanDefinition : null == indexed ? Collections.<BeanDefinition>emptyList() : indexed) {
+            members.put(beanDefinition.getBeanName(), beanDefinition);
+        }
+        return members;
+    }
+
+    /**
+     * 根据完整的泛型类型获取bean，没有泛型参数时等同于按原始类型获取
+     *
+     * @param key
+     * @return
+     */
+    public Object getBean(TypeKey key) {
+        if (!key.isParameterized()) {
+            return this.getBean(key.getRawType());
+        }
+        BeanDefinition beanDefinition = this.getMultiBinding(key).first();
+        return null == beanDefinition ? null : this.getBeanByName(beanDefinition.getBeanName());
+    }
+
+    /**
+     * 带泛型参数的注入点，按完整的泛型类型查找bean
+     *
+     * @param key
+     * @param annotations
+     * @return 找不到时返回null，按原始类型继续解析
+     */
+    private BeanDefinition getGenericBeanDefinition(TypeKey key, Annotation[] annotations) {
+        if (!key.isParameterized() || this.isHasCustomizedAnnotation(annotations)) {
+            return null;
+        }
+        return this.getMultiBinding(key).first();
+    }
+
+    /**
+     * 解析类型，结果缓存
+     *
+     * @param type
+     * @return
+     */
+    public TypeKey getTypeKey(Type type) {
+        TypeKey key = typeKeys.get(type);
+        if (null == key) {
+            key = TypeKey.of(type);
+            TypeKey existing = typeKeys.putIfAbsent(type, key);
+            key = null == existing ? key : existing;
+        }
+        return key;
+    }
+
+    private TypeKey getInjectionKey(Field field) {
+        TypeKey[] keys = injectionKeys.get(field);
+        if (null == keys) {
+            keys = new TypeKey[]{this.getTypeKey(field.getGenericType())};
+            injectionKeys.put(field, keys);
+        }
+        return keys[0];
+    }
+
+    private TypeKey[] getInjectionKeys(Executable executable) {
+        TypeKey[] keys = injectionKeys.get(executable);
+        if (null == keys) {
+            Type[] types = executable.getGenericParameterTypes();
+            if (types.length != executable.getParameterCount()) {
+                // 内部类的构造方法泛型参数不包含外部类实例
+                types = executable.getParameterTypes();
+            }
+            keys = new TypeKey[types.length];
+            for (int i = 0; i < types.length; i++) {
+                keys[i] = this.getTypeKey(types[i]);
+            }
+            injectionKeys.put(executable, keys);
+        }
+        return keys;
+    }
+
+    /**
+     * bean实现的所有带泛型参数的父类型、接口，类型变量按子类声明的实际类型替换
+     *
+     * @param type
+     * @param bindings
+     * @param result
+     */
+    private void collectGenericSuperTypes(Type type, Map<TypeVariable<?>, TypeKey> bindings, Set<TypeKey> result) {
+        Class<?> rawType;
+        Map<TypeVariable<?>, TypeKey> nextBindings = new HashMap<>(4);
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            rawType = (Class<?>) parameterizedType.getRawType();
+            TypeKey key = TypeKey.resolve(parameterizedType, bindings, true);
+            if (null != key) {
+                // 父类没有确定的泛型参数时不登记
+                result.add(key);
+            }
+            TypeVariable<?>[] typeParameters = rawType.getTypeParameters();
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            for (int i = 0; i < typeParameters.length; i++) {
+                TypeKey argument = TypeKey.resolve(arguments[i], bindings, true);
+                if (null != argument) {
+                    nextBindings.put(typeParameters[i], argument);
+                }
+            }
+        } else if (type instanceof Class) {
+            rawType = (Class<?>) type;
+        } else {
+            return;
+        }
+        if (Object.class.equals(rawType)) {
+            return;
+        }
+        if (null != rawType.getGenericSuperclass()) {
+            this.collectGenericSuperTypes(rawType.getGenericSuperclass(), nextBindings, result);
+        }
+        for (Type genericInterface : rawType.getGenericInterfaces()) {
+            this.collectGenericSuperTypes(genericInterface, nextBindings, result);
+        }
+    }
+
+    /**
+     * 解析集合注入点：List&lt;T&gt;、Set&lt;T&gt;、Collection&lt;T&gt;和Map&lt;String, T&gt;注入所有T类型的bean
+     * 不是集合注入点或者容器中注册了该集合类型的bean时返回null
+     *
+     * @param type
+     * @param genericType
+     * @return
+     */
+    private Object resolveMultiBinding(TypeKey key) {
+        Class<?> type = key.getRawType();
+        if (!key.isParameterized() || this.containsBean(type)) {
+            return null;
+        }
+        if (type.equals(List.class) || type.equals(Collection.class)) {
+            return this.getMultiBinding(key.getArgument(0)).getList(this);
+        }
+        if (type.equals(Set.class)) {
+            return this.getMultiBinding(key.getArgument(0)).getSet(this);
+        }
+        if (type.equals(Map.class) && String.class.equals(key.getArgument(0).getRawType())) {
+            return this.getMultiBinding(key.getArgument(1)).getMap(this);
+        }
+        return null;
+    }
+
+    /**
+     * 集合注入点的值是否在全部bean登记前生成，成员比当前登记的少时需要重新注入
+     *
+     * @param field
+     * @param value 属性当前的值
+     * @return
+     */
+    public boolean isStaleMultiBinding(Field field, Object value) {
+        TypeKey key = this.getInjectionKey(field);
+        if (!key.isParameterized() || this.containsBean(key.getRawType())) {
+            return false;
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size() < this.getMultiBinding(key.getArgument(0)).size();
+        }
+        if (value instanceof Map && String.class.equals(key.getArgument(0).getRawType())) {
+            return ((Map<?, ?>) value).size() < this.getMultiBinding(key.getArgument(1)).size();
+        }
+        return false;
+    }
+
+    /**
+     * 集合注入点注入所有实现，带泛型参数的注入点注入该泛型类型的bean
+     *
+     * @param field
+     * @param instance
+     * @return 是否已按泛型类型注入
+     */
+    public boolean injectGenericField(Field field, Object instance) {
+        TypeKey key = this.getInjectionKey(field);
+        Object value = this.resolveMultiBinding(key);
+        if (null == value) {
+            BeanDefinition beanDefinition = this.getGenericBeanDefinition(key, field.getAnnotations());
+            if (null == beanDefinition) {
+                return false;
+            }
+            value = this.getBean(beanDefinition.getBeanName());
+        }
+        try {
+            field.setAccessible(true);
+            field.set(instance, value);
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+        }
+        return true;
+    }
+
+    public BeanDefinition getBeanDefinition(String name) {
+        BeanDefinition beanDefinition = beanDefinitionMap.get(name);
+        if (null == beanDefinition && null != parent) {
+            beanDefinition = parent.getBeanDefinition(name);
+        }
+        if (null == beanDefinition && this.activateByName(name)) {
+            beanDefinition = beanDefinitionMap.get(name);
+        }
+        return beanDefinition;
+    }
+
+    /**
+     * 根据类型查找bean名称，本容器没有则查找父容器
+     * 名称再按本容器优先解析，所以子容器可以用同名bean覆盖父容器的bean
+     *
+     * @param type
+     * @return
+     */
+    private String resolveBeanName(Class<?> type) {
+        String beanName = beanTypeMap.get(type);
+        if (null == beanName && null != parent) {
+            beanName = parent.resolveBeanName(type);
+        }
+        if (null == beanName && this.activateByType(type)) {
+            beanName = beanTypeMap.get(type);
+        }
+        return beanName;
+    }
+
+    /**
+     * 依次在本容器和父容器中查找第一个满足条件的beanDefinition，被本容器同名bean覆盖的父容器bean跳过
+     * 直接遍历各层的map，不复制
+     *
+     * @param condition
+     * @return
+     */
+    private BeanDefinition findBeanDefinition(Predicate<BeanDefinition> condition) {
+        for (BeanDefinition beanDefinition : beanDefinitionMap.values()) {
+            if (condition.test(beanDefinition)) {
+                return beanDefinition;
+            }
+        }
+        if (null == parent) {
+            return null;
+        }
+        return parent.findBeanDefinition(beanDefinition -> !beanDefinitionMap.containsKey(beanDefinition.getBeanName()) && condition.test(beanDefinition));
+    }
+
+    private Object getBeanByName(String beanName) {
+        Object bean = null;
+        if (!beanDefinitionMap.containsKey(beanName) && null == parent) {
+            this.activateByName(beanName);
+        }
+        if (!beanDefinitionMap.containsKey(beanName) && null != parent) {
+            BeanDefinition beanDefinition = parent.getBeanDefinition(beanName);
+            if (null == beanDefinition) {
+                return null;
+            }
+            if (beanDefinition.getScope().equals(Scope.SCOPE_PROTOTYPE)) {
+                // 父容器的多例由子容器创建，这样依赖会优先使用子容器覆盖的bean
+                return createInstance(beanDefinition);
+            }
+            // 单例共享父容器的实例
+            return parent.getBean(beanName);
+        }
+        if (beanDefinitionMap.containsKey(beanName)) {
+            BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+            if (beanDefinition.getScope().equals(Scope.SCOPE_SINGLETON)) {
+                // 单例直接从map中获取
+                bean = getSingletonBean(beanDefinition);
+            } else if (beanDefinition.getScope().equals(Scope.SCOPE_SOFT_SINGLETON)) {
+                bean = getSoftSingletonBean(beanDefinition);
+            } else if (beanDefinition.getScope().equals(Scope.SCOPE_PROTOTYPE)) {
+                // 这里由于是多例所以需要递归出所有的属性并创建对象
+                bean = createInstance(beanDefinition);
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * 获取单例，延迟创建的单例在第一次获取时创建
+     *
+     * @param beanDefinition
+     * @return
+     */
+    private Object getSingletonBean(BeanDefinition beanDefinition) {
+        this.recordDependency(beanDefinition);
+        Object bean = singletonObjects.get(beanDefinition);
+        if (null != bean) {
+            return bean;
+        }
+        synchronized (beanDefinition) {
+            bean = singletonObjects.get(beanDefinition);
+            if (null == bean) {
+                bean = earlySingletonObjects.get(beanDefinition);
+                if (null != bean) {
+                    // 当前线程正在创建该单例，返回提前暴露的引用
+                    return this.getEarlyReference(beanDefinition, bean);
+                }
+                try {
+                    bean = createSingleton(beanDefinition);
+                    singletonObjects.put(beanDefinition, bean);
+                    this.scheduleTasks(beanDefinition, bean);
+                } finally {
+                    earlySingletonObjects.remove(beanDefinition);
+                    earlyReferences.remove(beanDefinition);
+                }
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * 返回提前暴露的引用并记录下来，有拦截器时第一次获取就生成代理，创建完成后沿用同一个代理
+     *
+     * @param beanDefinition
+     * @param instance 实例化后还没有完成注入的原始对象
+     * @return
+     */
+    private Object getEarlyReference(BeanDefinition beanDefinition, Object instance) {
+        Object reference = earlyReferences.get(beanDefinition);
+        if (null == reference) {
+            // 生成拦截器链时可能获取其它bean，不在computeIfAbsent中执行
+            reference = this.applyInterceptors(beanDefinition.getBeanClass(), instance);
+            earlyReferences.put(beanDefinition, reference);
+        }
+        return reference;
+    }
+
+    /**
+     * 保存已创建的单例实例，软引用单例放入软引用缓存
+     *
+     * @param beanDefinition
+     * @param bean
+     */
+    public void addSingleton(BeanDefinition beanDefinition, Object bean) {
+        if (null == bean) {
+            return;
+        }
+        if (Scope.SCOPE_SOFT_SINGLETON.equals(beanDefinition.getScope())) {
+            softSingletonCache.put(beanDefinition.getBeanName(), bean, getSoftSingletonWeight(beanDefinition.getBeanClass()));
+        } else {
+            singletonObjects.put(beanDefinition, bean);
+        }
+    }
+
+    /**
+     * 获取软引用单例，已被回收则重新创建
+     *
+     * @param beanDefinition
+     * @return
+     */
+    private Object getSoftSingletonBean(BeanDefinition beanDefinition) {
+        this.recordDependency(beanDefinition);
+        String beanName = beanDefinition.getBeanName();
+        Object bean = softSingletonCache.get(beanName);
+        if (null != bean) {
+            return bean;
+        }
+        synchronized (beanDefinition) {
+            bean = softSingletonCache.get(beanName);
+            if (null == bean) {
+                bean = earlySingletonObjects.get(beanDefinition);
+                if (null != bean) {
+                    return this.getEarlyReference(beanDefinition, bean);
+                }
+                try {
+                    bean = createSingleton(beanDefinition);
+                    softSingletonCache.put(beanName, bean, getSoftSingletonWeight(beanDefinition.getBeanClass()));
+                } finally {
+                    earlySingletonObjects.remove(beanDefinition);
+                    earlyReferences.remove(beanDefinition);
+                }
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * 创建单例，创建期间获取的单例都记为它的依赖
+     *
+     * @param beanDefinition
+     * @return
+     */
+    private Object createSingleton(BeanDefinition beanDefinition) {
+        Deque<BeanDefinition> creating = creatingSingletons.get();
+        creating.push(beanDefinition);
+        try {
+            Object bean = createInstance(beanDefinition);
+            creationOrder.putIfAbsent(beanDefinition, nextCreationOrder.getAndIncrement());
+            return bean;
+        } finally {
+            creating.pop();
+        }
+    }
+
+    private void recordDependency(BeanDefinition beanDefinition) {
+        BeanDefinition dependent = creatingSingletons.get().peek();
+        if (null != dependent && dependent != beanDefinition) {
+            dependencies.computeIfAbsent(dependent, key -> ConcurrentHashMap.newKeySet()).add(beanDefinition);
+        }
+    }
+
+    /**
+     * 开始启动，之后创建的单例的@Scheduled方法延迟到{@link #finishStart}开始执行
+     */
+    public void beginStart() {
+        pendingSchedules = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * 启动期间的单例都创建完成后开始执行@Scheduled方法
+     */
+    public void finishStart() {
+        List<Runnable> pendingSchedules = this.pendingSchedules;
+        this.pendingSchedules = null;
+        if (null != pendingSchedules) {
+            synchronized (pendingSchedules) {
+                for (Runnable schedule : pendingSchedules) {
+                    schedule.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * 单例创建完成后开始执行其中的@Scheduled方法，软引用单例和多例不执行
+     *
+     * @param beanDefinition
+     * @param bean
+     */
+    private void scheduleTasks(BeanDefinition beanDefinition, Object bean) {
+        Class<?> clazz = beanDefinition.getBeanClass();
+        if (!TaskScheduler.hasScheduledMethods(clazz)) {
+            return;
+        }
+        Runnable schedule = () -> this.getTaskScheduler().schedule(bean, clazz, this::getAsyncExecutor);
+        List<Runnable> pendingSchedules = this.pendingSchedules;
+        if (null != pendingSchedules) {
+            pendingSchedules.add(schedule);
+            return;
+        }
+        schedule.run();
+    }
+
+    private synchronized TaskScheduler getTaskScheduler() {
+        if (null == taskScheduler) {
+            taskScheduler = new TaskScheduler();
+        }
+        return taskScheduler;
+    }
+
+    /**
+     * 取消定时任务，再按依赖的逆序执行本容器中已创建单例的@PreDestroy，互不依赖的单例并行执行
+     *
+     * @param executor
+     * @param timeoutNanos 每个单例的超时时间
+     */
+    public void destroySingletons(ExecutorService executor, long timeoutNanos) {
+        synchronized (this) {
+            if (null != taskScheduler) {
+                // 先停止定时任务，@PreDestroy执行期间不再触发
+                taskScheduler.shutdown();
+            }
+        }
+        Map<BeanDefinition, Object> instances = new HashMap<>();
+        for (BeanDefinition beanDefinition : beanDefinitionMap.values()) {
+            if ((null != beanDefinition.getSupplier() && !(beanDefinition.getSupplier() instanceof ProvidesMethod))
+                    || Scope.SCOPE_PROTOTYPE.equals(beanDefinition.getScope())) {
+                // Module中supplier提供的实例不由容器创建，也不由容器销毁；@Provides方法创建的单例由容器销毁
+                continue;
+            }
+            Object bean = this.getCreatedBean(beanDefinition);
+            if (bean instanceof InterceptedProxy) {
+                // 回调在原始bean上执行
+                bean = ((InterceptedProxy) bean).getTargetBean();
+            }
+            if (null != bean && LifecycleMethods.of(bean.getClass()).hasPreDestroy()) {
+                instances.put(beanDefinition, bean);
+            }
+        }
+        if (instances.isEmpty()) {
+            return;
+        }
+        LifecycleProcessor.shutdown(this.sortByCreationOrder(instances.keySet()), dependencies, bean -> {
+            Object instance = instances.get(bean);
+            LifecycleMethods.of(instance.getClass()).preDestroy(instance);
+        }, executor, timeoutNanos);
+    }
+
+    private List<BeanDefinition> sortByCreationOrder(Collection<BeanDefinition> beanDefinitions) {
+        List<BeanDefinition> sorted = new ArrayList<>(beanDefinitions);
+        sorted.sort(Comparator.comparingInt(beanDefinition -> creationOrder.getOrDefault(beanDefinition, Integer.MAX_VALUE)));
+        return sorted;
+    }
+
+    private int getSoftSingletonWeight(Class<?> clazz) {
+        SoftSingleton softSingleton = clazz.getAnnotation(SoftSingleton.class);
+        return null == softSingleton ? 1 : softSingleton.weight();
+    }
+
+    public SoftSingletonCache getSoftSingletonCache() {
+        return softSingletonCache;
+    }
+
+    public Object constructBean(Class<?> clazz) {
+        Object instance = null;
+        // 需要返回的对象实例,不是单例直接返回新实例
+        Object bean = this.containsSingletonBean(clazz);
+        if (null != bean) {
+            // 由于是递归所以需要考虑深度递归后可能会有单例bean
+            return bean;
+        }
+        BeanDefinition beanDefinition = this.getBeanDefinition(clazz);
+        if (null != beanDefinition) {
+            // 通过Module绑定的类型可能由supplier或实现类创建
+            instance = createInstance(beanDefinition);
+        } else {
+            instance = getNewBean(clazz);
+        }
+        return instance;
+    }
+
+    /**
+     * 根据beanDefinition创建实例，有supplier的直接调用supplier，不做反射注入
+     *
+     * @param beanDefinition
+     * @return
+     */
+    private Object createInstance(BeanDefinition beanDefinition) {
+        if (null != beanDefinition.getSupplier()) {
+            return beanDefinition.getSupplier().get();
+        }
+        if (!Scope.SCOPE_PROTOTYPE.equals(beanDefinition.getScope())) {
+            // 单例实例化后提前暴露，属性注入时的循环依赖可以拿到该引用
+            return this.createBean(beanDefinition.getBeanClass(), beanDefinition);
+        }
+        return getNewBean(beanDefinition.getBeanClass());
+    }
+
+    public Object getNewBean(Class<?> clazz) {
+        if (clazz.isAnnotationPresent(TemplatePrototype.class) && !templateUnsupported.contains(clazz)) {
+            PrototypeTemplate template = this.getPrototypeTemplate(clazz);
+            if (null != template) {
+                return template.newInstance(this);
+            }
+        }
+        return this.createBean(clazz, null);
+    }
+
+    /**
+     * 获取多例模板，第一次获取时完整创建模板实例并生成拷贝计划
+     *
+     * @param clazz
+     * @return
+     */
+    private PrototypeTemplate getPrototypeTemplate(Class<?> clazz) {
+        PrototypeTemplate template = prototypeTemplates.get(clazz);
+        if (null == template && (LifecycleMethods.of(clazz).hasPostConstruct() || this.getProcessorChain(clazz).length > 0
+                || InterceptedType.of(clazz).isIntercepted())) {
+            // 拷贝出来的实例不执行构造方法，也不应该跳过@PostConstruct、处理器和拦截器
+            templateUnsupported.add(clazz);
+            return null;
+        }
+        if (null == template) {
+            template = PrototypeTemplate.create(this, this.createBean(clazz, null));
+            if (null == template) {
+                templateUnsupported.add(clazz);
+            } else {
+                prototypeTemplates.put(clazz, template);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * 是否是容器中的单例对象
+     *
+     * @param value
+     * @return
+     */
+    public boolean isSingletonInstance(Object value) {
+        if (!this.containsBean(value.getClass())) {
+            return false;
+        }
+        BeanDefinition beanDefinition = this.getBeanDefinition(value.getClass());
+        return beanDefinition.getScope().equals(Scope.SCOPE_SINGLETON) && singletonObjects.get(beanDefinition) == value;
+    }
+
+    /**
+     * 创建实例并注入
+     *
+     * @param clazz
+     * @param singletonDefinition 创建单例时不为null，实例化后立即提前暴露；构造方法中的循环依赖仍然报错
+     * @return
+     */
+    private Object createBean(Class<?> clazz, BeanDefinition singletonDefinition) {
+        List<Class<?>> creating = cashedBean.get();
+        if (creating.contains(clazz)){
+            throw new CircularDependencyException("Please use singleton annotation or Provider interface to resolve circularDependency, clazz:" + clazz.getName());
+        }
+        creating.add(clazz);
+        try {
+            return this.doCreateBean(clazz, singletonDefinition);
+        } finally {
+            creating.remove(clazz);
+        }
+    }
+
+    private Object doCreateBean(Class<?> clazz, BeanDefinition singletonDefinition) {
+        Object instance = null;
+        // 不包含需要创建并注入对应的属性，注入顺序：1.构造方法 2.字段属性 3.方法注入
+        // 先构造方法注入
+        instance = this.constructsInject(clazz);
+        if (null == instance) {
+            try {
+                instance = clazz.getDeclaredConstructor().newInstance();
+            } catch (InvocationTargetException e) {
+                throw new BeanCreationException("invoke constructor failed, clazz:" + clazz.getName(), e.getCause());
+            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException e) {
+                e.printStackTrace();
+            }
+        }
+        if (null != singletonDefinition && null != instance) {
+            earlySingletonObjects.put(singletonDefinition, instance);
+        }
+        // 先注入父类属性
+        this.parentFieldsInject(clazz, instance);
+        // 先执行父类的方法
+        this.parentMethodsInject(clazz, instance);
+        // 属性注入
+        this.fieldsInject(clazz, instance);
+        // 普通方法注入
+        this.methodInject(clazz, instance);
+        if (null == instance) {
+            return null;
+        }
+        return this.initializeBean(clazz, instance, singletonDefinition);
+    }
+
+    /**
+     * 执行处理器链和@PostConstruct，没有匹配的处理器时只执行@PostConstruct
+     *
+     * @param clazz
+     * @param instance
+     * @param singletonDefinition 创建单例时不为null
+     * @return 处理器处理后的bean
+     */
+    private Object initializeBean(Class<?> clazz, Object instance, BeanDefinition singletonDefinition) {
+        BeanPostProcessor[] chain = this.getProcessorChain(clazz);
+        Object bean = instance;
+        for (BeanPostProcessor processor : chain) {
+            Object processed = processor.postProcessBeforeInitialization(bean, clazz);
+            if (null == processed) {
+                break;
+            }
+            bean = processed;
+        }
+        // 回调声明在类上，始终对原实例执行；在单例放入容器前执行，依赖它的bean拿到的都是已初始化的实例
+        LifecycleMethods lifecycle = LifecycleMethods.of(instance.getClass());
+        if (lifecycle.hasPostConstruct()) {
+            lifecycle.postConstruct(instance);
+        }
+        for (BeanPostProcessor processor : chain) {
+            Object processed = processor.postProcessAfterInitialization(bean, clazz);
+            if (null == processed) {
+                break;
+            }
+            bean = processed;
+        }
+        Object earlyReference = null == singletonDefinition ? null : earlyReferences.get(singletonDefinition);
+        if (null == earlyReference) {
+            return this.applyInterceptors(clazz, bean);
+        }
+        if (bean != instance) {
+            // 循环依赖中的其它bean已经注入了提前暴露的引用，不能再换成处理器包装后的对象
+            throw new CircularDependencyException("bean replaced by BeanPostProcessor after its early reference was injected, clazz:" + clazz.getName());
+        }
+        // 提前暴露时已经生成了代理
+        return earlyReference;
+    }
+
+    /**
+     * 有需要拦截的方法时返回代理，代理类按类型缓存，拦截器链按类缓存
+     *
+     * @param clazz
+     * @param bean
+     * @return
+     */
+    private Object applyInterceptors(Class<?> clazz, Object bean) {
+        InterceptedType interceptedType = InterceptedType.of(clazz);
+        if (!interceptedType.isIntercepted() || !clazz.isInstance(bean)) {
+            return bean;
+        }
+        InterceptorChain[] chains = interceptorChains.get(clazz);
+        if (null == chains) {
+            chains = this.buildInterceptorChains(clazz, interceptedType.getMethods());
+            interceptorChains.put(clazz, chains);
+        }
+        return chains.length == 0 ? bean : interceptedType.newProxy(bean, chains);
+    }
+
+    /**
+     * 计算每个方法的拦截器：@Async在最前，@Cacheable其次，然后类上的在前，方法上的在后；同一处@Interceptors在前，绑定注解在后
+     *
+     * @param clazz
+     * @param methods
+     * @return 所有方法都没有拦截器时返回空数组
+     */
+    private InterceptorChain[] buildInterceptorChains(Class<?> clazz, Method[] methods) {
+        InterceptorChain[] chains = new InterceptorChain[methods.length];
+        boolean intercepted = false;
+        List<MethodInterceptor> classInterceptors = this.resolveInterceptors(clazz.getAnnotations());
+        for (int i = 0; i < methods.length; i++) {
+            Set<MethodInterceptor> interceptors = Collections.newSetFromMap(new IdentityHashMap<>());
+            Async async = methods[i].getAnnotation(Async.class);
+            if (null == async && null != clazz.getAnnotation(Async.class)) {
+                if (AsyncInterceptor.isAsyncReturnType(methods[i])) {
+                    async = clazz.getAnnotation(Async.class);
+                } else {
+                    // 类上的@Async不处理有其它返回值的方法，例如getter
+                    log.warn("class-level @Async ignored for method with return type:{}, method:{}", methods[i].getReturnType().getName(), methods[i]);
+                }
+            }
+            if (null != async) {
+                interceptors.add(new AsyncInterceptor(this.getAsyncExecutor(async.value()), methods[i]));
+            }
+            Cacheable cacheable = methods[i].getAnnotation(Cacheable.class);
+            if (null != cacheable) {
+                interceptors.add(new CacheInterceptor(this.getCache(cacheable, methods[i]), methods[i]));
+            }
+            interceptors.addAll(classInterceptors);
+            interceptors.addAll(this.resolveInterceptors(methods[i].getAnnotations()));
+            chains[i] = new InterceptorChain(methods[i], interceptors.toArray(new MethodInterceptor[0]));
+            intercepted |= !interceptors.isEmpty();
+        }
+        return intercepted ? chains : new InterceptorChain[0];
+    }
+
+    /**
+     * 没有绑定默认执行器时注册一个虚拟线程执行器，在容器启动时调用，先于其它单例登记，关闭时最后关闭
+     * 执行器第一次执行任务时才创建线程，没有使用@Async的容器没有额外开销
+     */
+    void registerDefaultAsyncExecutor() {
+        if (!this.containsBean(AsyncExecutor.DEFAULT_NAME)) {
+            this.registerOwnedSingleton(AsyncExecutor.DEFAULT_NAME, AsyncExecutor.class, AsyncExecutor.virtual(AsyncExecutor.DEFAULT_NAME));
+        }
     }
 
-    @Override
-    public Object getBean(String name) {
-        return getBeanByName(name);
+    /**
+     * 按名称获取执行器
+     *
+     * @param name
+     * @return
+     */
+    AsyncExecutor getAsyncExecutor(String name) {
+        Object executor = this.getBean(name);
+        if (!(executor instanceof AsyncExecutor)) {
+            throw new BeanNotFoundException("async executor not found, name:" + name);
+        }
+        return (AsyncExecutor) executor;
     }
 
     /**
-     * 根据类型获取bean
-     * @param requiredType
-     * @return
+     * 为类中@Cacheable方法使用的缓存注册bean，之后可以按名称注入
+     *
+     * @param clazz
      */
-    @Override
-    public Object getBean(Class<?> requiredType) {
-        String beanName = checkInterface(requiredType);
-        if (beanTypeMap.containsKey(requiredType)) {
-            beanName = beanTypeMap.get(requiredType);
+    public void registerCaches(Class<?> clazz) {
+        for (Method method : InterceptedType.of(clazz).getMethods()) {
+            Cacheable cacheable = method.getAnnotation(Cacheable.class);
+            if (null != cacheable) {
+                this.getCache(cacheable, method);
+            }
         }
-        return getBeanByName(beanName);
     }
 
     /**
-     * 校验是否是接口并返回对应的bean名称
-     * @param requiredType
+     * 按名称获取缓存，没有时按注解的配置注册一个；名称已被其他方法使用时报错
+     *
+     * @param cacheable
+     * @param method
      * @return
      */
-    private String checkInterface(Class<?> requiredType) {
-        if (requiredType.isInterface()) {
-            // 需要获取他的实现类
-            for (BeanDefinition beanDefinition : beanDefinitionMap.values()) {
-                Class<?>[] interfaces = beanDefinition.getBeanClass().getInterfaces();
-                for (Class<?> anInterface : interfaces) {
-                    if (anInterface.equals(requiredType)) {
-                        return beanDefinition.getBeanName();
-                    }
-                }
-            }
+    @SuppressWarnings("unchecked")
+    private synchronized BoundedCache<Object, Object> getCache(Cacheable cacheable, Method method) {
+        String name = cacheable.name();
+        Method owner = this.getCacheMethod(name);
+        if (null != owner && !isSameMethod(owner, method)) {
+            throw new BeanCreationException("cache name already used by another method, name:" + name + ", method:" + owner + ", conflict:" + method);
         }
-        return "";
+        if (!this.containsBean(name)) {
+            BoundedCache<Object, Object> cache = new BoundedCache<>(name, cacheable.maxSize(), cacheable.ttl(), cacheable.ttlUnit());
+            this.registerOwnedSingleton(name, BoundedCache.class, cache);
+            cacheMethods.put(name, method);
+            return cache;
+        }
+        if (null == owner) {
+            // 同名的bean不是由@Cacheable注册的，比如手动注册的缓存，由第一个使用它的方法占用
+            cacheMethods.put(name, method);
+        }
+        Object cache = this.getBean(name);
+        if (!(cache instanceof BoundedCache)) {
+            throw new BeanNotFoundException("cache not found, name:" + name);
+        }
+        if (((BoundedCache<?, ?>) cache).getMaximumSize() != cacheable.maxSize()) {
+            log.warn("cache already declared with another size, name:{}, size:{}", name, ((BoundedCache<?, ?>) cache).getMaximumSize());
+        }
+        return (BoundedCache<Object, Object>) cache;
     }
 
-    public BeanDefinition getBeanDefinition(String name) {
-        return beanDefinitionMap.get(name);
+    private Method getCacheMethod(String name) {
+        Method method = cacheMethods.get(name);
+        return null == method && null != parent ? parent.getCacheMethod(name) : method;
     }
 
-    private Object getBeanByName(String beanName) {
-        Object bean = null;
-        if (beanDefinitionMap.containsKey(beanName)) {
-            BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
-            if (beanDefinition.getScope().equals(Scope.SCOPE_SINGLETON)) {
-                // 单例直接从map中获取
-                bean = beanDefinition.getBean();
-            } else if (beanDefinition.getScope().equals(Scope.SCOPE_PROTOTYPE)) {
-                // 这里由于是多例所以需要递归出所有的属性并创建对象
-                bean = constructBean(beanDefinition.getBeanClass());
+    /**
+     * 同一个方法或子类重写的方法
+     */
+    private static boolean isSameMethod(Method owner, Method method) {
+        return owner.getName().equals(method.getName()) && Arrays.equals(owner.getParameterTypes(), method.getParameterTypes())
+                && (owner.getDeclaringClass().isAssignableFrom(method.getDeclaringClass()) || method.getDeclaringClass().isAssignableFrom(owner.getDeclaringClass()));
+    }
+
+    /**
+     * 注册容器持有的单例（执行器、缓存），参与按创建顺序的关闭
+     *
+     * @param name
+     * @param type
+     * @param instance
+     */
+    private void registerOwnedSingleton(String name, Class<?> type, Object instance) {
+        BeanDefinition beanDefinition = new BeanDefinition(name, type, Scope.SCOPE_SINGLETON);
+        this.registerBean(beanDefinition);
+        this.addSingleton(beanDefinition, instance);
+        creationOrder.putIfAbsent(beanDefinition, nextCreationOrder.getAndIncrement());
+    }
+
+    private List<MethodInterceptor> resolveInterceptors(Annotation[] annotations) {
+        List<MethodInterceptor> interceptors = new ArrayList<>();
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Interceptors) {
+                for (Class<? extends MethodInterceptor> interceptorClass : ((Interceptors) annotation).value()) {
+                    Object interceptor = this.containsBean(interceptorClass) ? this.getBean(interceptorClass) : this.constructBean(interceptorClass);
+                    interceptors.add((MethodInterceptor) interceptor);
+                }
             }
         }
-        return bean;
+        for (Annotation annotation : annotations) {
+            if (!InterceptedType.isInterceptorBinding(annotation)) {
+                continue;
+            }
+            // 带有同一绑定注解的拦截器bean
+            for (BeanDefinition beanDefinition : this.getMembers(this.getTypeKey(MethodInterceptor.class)).values()) {
+                if (beanDefinition.getBeanClass().isAnnotationPresent(annotation.annotationType())) {
+                    interceptors.add((MethodInterceptor) this.getBean(beanDefinition.getBeanName()));
+                }
+            }
+        }
+        return interceptors;
     }
 
-    public Object constructBean(Class<?> clazz) {
-        Object instance = null;
-        // 需要返回的对象实例,不是单例直接返回新实例
-        Object bean = this.containsSingletonBean(clazz);
-        if (null != bean) {
-            // 由于是递归所以需要考虑深度递归后可能会有单例bean
-            return bean;
-        } else {
-            instance = getNewBean(clazz);
+    /**
+     * 添加处理器，之后创建的bean才会被处理
+     * 已经计算的处理器链全部重新计算；父容器的处理器需要在创建子容器前添加
+     *
+     * @param processor
+     */
+    public synchronized void addBeanPostProcessor(BeanPostProcessor processor) {
+        beanPostProcessors.add(processor);
+        beanPostProcessors.sort(Comparator.comparingInt(BeanPostProcessor::getOrder));
+        processorChains.clear();
+        for (BeanDefinition beanDefinition : beanDefinitionMap.values()) {
+            this.getProcessorChain(beanDefinition.getBeanClass());
         }
-        return instance;
     }
 
-    public Object getNewBean(Class<?> clazz) {
-        if (cashedBean.contains(clazz)){
-            throw new CircularDependencyException("Please use singleton annotation or Provider interface to resolve circularDependency, clazz:" + clazz.getName());
+    private BeanPostProcessor[] getProcessorChain(Class<?> clazz) {
+        BeanPostProcessor[] chain = processorChains.get(clazz);
+        if (null == chain) {
+            chain = this.buildProcessorChain(clazz);
+            processorChains.put(clazz, chain);
         }
-        cashedBean.add(clazz);
-        Object instance = null;
-        // 不包含需要创建并注入对应的属性，注入顺序：1.构造方法 2.字段属性 3.方法注入
-        // 先构造方法注入
-        instance = this.constructsInject(clazz);
-        if (null == instance) {
-            try {
-                instance = clazz.newInstance();
-            } catch (InstantiationException | IllegalAccessException e) {
-                e.printStackTrace();
+        return chain;
+    }
+
+    private BeanPostProcessor[] buildProcessorChain(Class<?> clazz) {
+        if (BeanPostProcessor.class.isAssignableFrom(clazz)) {
+            return NO_PROCESSORS;
+        }
+        List<BeanPostProcessor> chain = new ArrayList<>();
+        for (DefaultFactory factory = this; null != factory; factory = factory.parent) {
+            List<BeanPostProcessor> matched = new ArrayList<>();
+            for (BeanPostProcessor processor : factory.beanPostProcessors) {
+                if (processor.appliesTo(clazz)) {
+                    matched.add(processor);
+                }
             }
+            chain.addAll(0, matched);
         }
-        // 先注入父类属性
-        this.parentFieldsInject(clazz, instance);
-        // 先执行父类的方法
-        this.parentMethodsInject(clazz, instance);
-        // 属性注入
-        this.fieldsInject(clazz, instance);
-        // 普通方法注入
-        this.methodInject(clazz, instance);
-        cashedBean.remove(clazz);
-        return instance;
+        return chain.isEmpty() ? NO_PROCESSORS : chain.toArray(new BeanPostProcessor[0]);
     }
 
     private void methodInject(Class<?> clazz, Object instance) {
@@ -228,28 +1364,50 @@ public class DefaultFactory implements BeanFactory {
         }
         try {
             Annotation[][] parameterAnnotations = method.getParameterAnnotations();
-            Type[] genericParameterTypes = method.getGenericParameterTypes();
             Class<?>[] parameterTypes = method.getParameterTypes();
             method.setAccessible(true);
-            method.invoke(instance, getMethodParameters(parameterTypes, genericParameterTypes, parameterAnnotations, ClassEnum.METHOD));
+            method.invoke(instance, getMethodParameters(parameterTypes, this.getInjectionKeys(method), parameterAnnotations, ClassEnum.METHOD));
         } catch (IllegalAccessException | InvocationTargetException e) {
             e.printStackTrace();
         }
     }
 
-    private Object[] getMethodParameters(Class<?>[] parameterTypes, Type[] genericParameterTypes, Annotation[][] parameterAnnotations, ClassEnum classEnum) {
+    private Object[] getMethodParameters(Class<?>[] parameterTypes, TypeKey[] parameterKeys, Annotation[][] parameterAnnotations, ClassEnum classEnum) {
         Object[] objects = new Object[parameterTypes.length];
         int index = 0;
         for (Class<?> parameterType : parameterTypes) {
-            boolean shouldInject = shouldBeInjected(parameterAnnotations[index], parameterType);
-            DefaultProvider<Object> provider = checkProvider(parameterType, genericParameterTypes[index], classEnum, parameterAnnotations[index]);
+            Value value = this.findValueAnnotation(parameterAnnotations[index]);
+            if (null != value) {
+                objects[index++] = this.resolveParameterValue(value, parameterType);
+                continue;
+            }
+            Object lazyProxy = this.createLazyProxy(parameterType, parameterKeys[index], parameterAnnotations[index]);
+            if (null != lazyProxy) {
+                objects[index++] = lazyProxy;
+                continue;
+            }
+            Object members = this.resolveMultiBinding(parameterKeys[index]);
+            if (null != members) {
+                objects[index++] = members;
+                continue;
+            }
+            BeanDefinition genericBeanDefinition = this.getGenericBeanDefinition(parameterKeys[index], parameterAnnotations[index]);
+            if (null != genericBeanDefinition) {
+                objects[index++] = this.getBean(genericBeanDefinition.getBeanName());
+                continue;
+            }
+            // 没有注解的参数只要容器中有该类型的bean也需要注入
+            boolean shouldInject = shouldBeInjected(parameterAnnotations[index], parameterType) || this.containsBean(parameterType);
+            DefaultProvider<Object> provider = checkProvider(parameterType, parameterKeys[index], classEnum, parameterAnnotations[index]);
             if (null == provider) {
                 if (!shouldInject) {
                     objects[index] = null;
                 } else if (this.containsBean(parameterType)) {
-                    BeanDefinition childBeanDefinition = this.getChildBeanDefinition(parameterType);
+                    // 没有限定注解时按类型获取，不查找子类
+                    BeanDefinition childBeanDefinition = this.isHasCustomizedAnnotation(parameterAnnotations[index])
+                            ? this.getQualifiedBeanDefinition(parameterType, parameterAnnotations[index]) : null;
                     if (null != childBeanDefinition) {
-                        objects[index] = this.getBean(childBeanDefinition.getBeanClass());
+                        objects[index] = this.getBean(childBeanDefinition.getBeanName());
                     } else {
                         objects[index] = this.getBean(parameterType);
                     }
@@ -264,12 +1422,89 @@ public class DefaultFactory implements BeanFactory {
         return objects;
     }
 
-    private DefaultProvider<Object> checkProvider(Class<?> parameterType, Type genericParameterType, ClassEnum classEnum, Annotation[] annotations) {
+    /**
+     * 解析一个注入点的值，注入点上的每个参数都会注入
+     *
+     * @param type
+     * @param genericType
+     * @param annotations
+     * @return
+     */
+    public Object resolveDependency(Class<?> type, Type genericType, Annotation[] annotations) {
+        return this.resolveDependency(type, this.getTypeKey(genericType), annotations);
+    }
+
+    private Object resolveDependency(Class<?> type, TypeKey key, Annotation[] annotations) {
+        DefaultProvider<Object> provider = checkProvider(type, key, ClassEnum.METHOD, annotations);
+        if (null != provider) {
+            return provider;
+        }
+        Object members = this.resolveMultiBinding(key);
+        if (null != members) {
+            return members;
+        }
+        BeanDefinition genericBeanDefinition = this.getGenericBeanDefinition(key, annotations);
+        if (null != genericBeanDefinition) {
+            return this.getBean(genericBeanDefinition.getBeanName());
+        }
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().equals(Named.class) && !StringUtils.isEmpty(((Named) annotation).value())) {
+                // @Named注解中指定了bean名称
+                return this.getBean(((Named) annotation).value());
+            }
+        }
+        if (this.isHasCustomizedAnnotation(annotations)) {
+            BeanDefinition qualifiedBeanDefinition = this.getQualifiedBeanDefinition(type, annotations);
+            if (null != qualifiedBeanDefinition) {
+                return this.getBean(qualifiedBeanDefinition.getBeanName());
+            }
+        }
+        if (type.isInterface() && !this.containsBean(type)) {
+            // 接口按实现类获取
+            return this.getBean(type);
+        }
+        return this.constructBean(type);
+    }
+
+    /**
+     * 带有@Lazy的接口注入点注入代理，第一次调用方法时再解析依赖
+     *
+     * @param type
+     * @param key
+     * @param annotations
+     * @return 不需要延迟注入时返回null
+     */
+    private Object createLazyProxy(Class<?> type, TypeKey key, Annotation[] annotations) {
+        boolean lazy = false;
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType() == Lazy.class) {
+                lazy = true;
+                break;
+            }
+        }
+        if (!lazy || type.equals(Provider.class)) {
+            return null;
+        }
+        if (!LazyProxy.isSupported(type)) {
+            log.warn("@Lazy only supports interface types, inject eagerly, type:{}", type.getName());
+            return null;
+        }
+        // 解析时不再经过@Lazy，去掉该注解
+        Annotation[] resolveAnnotations = Arrays.stream(annotations)
+                .filter(annotation -> annotation.annotationType() != Lazy.class).toArray(Annotation[]::new);
+        return LazyProxy.create(type, () -> this.resolveDependency(type, key, resolveAnnotations));
+    }
+
+    private DefaultProvider<Object> checkProvider(Class<?> parameterType, TypeKey parameterKey, ClassEnum classEnum, Annotation[] annotations) {
         if (parameterType.equals(Provider.class)) {
-            if (genericParameterType instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) genericParameterType;
-                Class<?> genericClazz = (Class<?>) parameterizedType.getActualTypeArguments()[0];
+            if (parameterKey.isParameterized()) {
+                TypeKey providedKey = parameterKey.getArgument(0);
+                Class<?> genericClazz = providedKey.getRawType();
                 DefaultProvider<Object> provider = new DefaultProvider<>(this, getProviderTypeName(genericClazz, annotations));
+                if (providedKey.isParameterized() && !this.isHasCustomizedAnnotation(annotations)) {
+                    // 带泛型参数的类型在获取时按完整的泛型类型查找
+                    provider.setTypeKey(providedKey);
+                }
                 // 实例化的时候是否需要创建新实例
                 boolean isProviderNeedNewBean = this.isProviderNeedNewBean(genericClazz, classEnum, annotations);
                 // 是否有自定义注解
@@ -285,7 +1520,7 @@ public class DefaultFactory implements BeanFactory {
     private boolean isHasCustomizedAnnotation(Annotation[] annotations) {
         for (Annotation annotation : annotations) {
             Class<? extends Annotation> type = annotation.annotationType();
-            if (type.equals(Named.class) || customizedAnnotations.contains(type)) {
+            if (type == Named.class || customizedAnnotations.contains(type)) {
                 return true;
             }
         }
@@ -296,11 +1531,11 @@ public class DefaultFactory implements BeanFactory {
         // 先判断是否有注入的注解，有的话不考虑范型是否是单例
         for (Annotation annotation : annotations) {
             Class<? extends Annotation> annotationType = annotation.annotationType();
-            if (annotationType.equals(Named.class) || customizedAnnotations.contains(annotationType)) {
+            if (annotationType == Named.class || customizedAnnotations.contains(annotationType)) {
                 return true;
             }
         }
-        if (genericClazz.isAnnotationPresent(Singleton.class)) {
+        if (genericClazz.isAnnotationPresent(Singleton.class) || genericClazz.isAnnotationPresent(SoftSingleton.class)) {
             return false;
         }
         switch (classEnum) {
@@ -364,14 +1599,15 @@ public class DefaultFactory implements BeanFactory {
             if (constructor.isAnnotationPresent(Inject.class)) {
                 try {
                     Annotation[][] parameterAnnotations = constructor.getParameterAnnotations();
-                    Type[] genericParameterTypes = constructor.getGenericParameterTypes();
                     Class<?>[] parameterTypes = constructor.getParameterTypes();
-                    if (genericParameterTypes.length == 0) {
+                    if (parameterTypes.length == 0) {
                         return constructor.newInstance();
                     }
                     constructor.setAccessible(true);
-                    return constructor.newInstance(getMethodParameters(parameterTypes, genericParameterTypes, parameterAnnotations, ClassEnum.CONSTRUCTOR));
-                } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                    return constructor.newInstance(getMethodParameters(parameterTypes, this.getInjectionKeys(constructor), parameterAnnotations, ClassEnum.CONSTRUCTOR));
+                } catch (InvocationTargetException e) {
+                    throw new BeanCreationException("invoke constructor failed, clazz:" + clazz.getName(), e.getCause());
+                } catch (InstantiationException | IllegalAccessException e) {
                     e.printStackTrace();
                 }
             }
@@ -410,12 +1646,21 @@ public class DefaultFactory implements BeanFactory {
      * @return
      */
     private Object containsSingletonBean(Class<?> clazz) {
-        if (!beanTypeMap.containsKey(clazz)) {
+        String beanName = this.resolveBeanName(clazz);
+        if (null == beanName) {
             return null;
         }
-        BeanDefinition beanDefinition = beanDefinitionMap.get(beanTypeMap.get(clazz));
+        BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+        if (null == beanDefinition) {
+            // 父容器的bean
+            beanDefinition = parent.getBeanDefinition(beanName);
+            return beanDefinition.getScope().equals(Scope.SCOPE_PROTOTYPE) ? null : parent.getBean(beanName);
+        }
         if (beanDefinition.getScope().equals(Scope.SCOPE_SINGLETON)) {
-            return beanDefinition.getBean();
+            return getSingletonBean(beanDefinition);
+        }
+        if (beanDefinition.getScope().equals(Scope.SCOPE_SOFT_SINGLETON)) {
+            return getSoftSingletonBean(beanDefinition);
         }
         return null;
     }
@@ -427,6 +1672,10 @@ public class DefaultFactory implements BeanFactory {
      * @param instance 该属性的实例
      */
     public void injectField(Field field, Object instance) {
+        if (field.isAnnotationPresent(Value.class)) {
+            this.injectValue(field, instance);
+            return;
+        }
         if (!field.isAnnotationPresent(Inject.class)) {
             return;
         }
@@ -436,9 +1685,17 @@ public class DefaultFactory implements BeanFactory {
         // 如果不为null说明已经通过其它方式注入了
         try {
             field.setAccessible(true);
+            Object lazyProxy = this.createLazyProxy(field.getType(), this.getInjectionKey(field), field.getAnnotations());
+            if (null != lazyProxy) {
+                field.set(instance, lazyProxy);
+                return;
+            }
+            if (this.injectGenericField(field, instance)) {
+                return;
+            }
             if (this.shouldBeInjected(field.getAnnotations(), field.getType())) {
                 Named named = field.getAnnotation(Named.class);
-                if (null != named && StringUtils.isEmpty(named.value())) {
+                if (null != named && !StringUtils.isEmpty(named.value())) {
                     // @Named注解中指定了bean名称
                     String fieldBeanName = named.value();
                     if (this.containsBean(fieldBeanName)) {
@@ -447,9 +1704,9 @@ public class DefaultFactory implements BeanFactory {
                 } else {
                     // 没有@Named注解或未指定名称
                     if (this.isHasCustomizedAnnotation(field.getAnnotations())) {
-                        BeanDefinition childBeanDefinition = this.getChildBeanDefinition(field.getType());
+                        BeanDefinition childBeanDefinition = this.getQualifiedBeanDefinition(field.getType(), field.getAnnotations());
                         if (null != childBeanDefinition) {
-                            field.set(instance, this.constructBean(childBeanDefinition.getBeanClass()));
+                            field.set(instance, this.getBean(childBeanDefinition.getBeanName()));
                         }
                     } else {
                         field.set(instance, this.constructBean(field.getType()));
@@ -462,22 +1719,248 @@ public class DefaultFactory implements BeanFactory {
 
     }
 
+    /**
+     * 注入@Value字段，配置值在第一次注入该字段时解析
+     *
+     * @param field
+     * @param instance
+     */
+    private void injectValue(Field field, Object instance) {
+        ValueField valueField = valueFields.get(field);
+        if (null == valueField) {
+            valueField = valueFields.computeIfAbsent(field, key -> new ValueField(key, this.resolveValue(key.getAnnotation(Value.class), key.getType(), key)));
+        }
+        try {
+            valueField.inject(instance);
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException("can not inject @Value field:" + field, e);
+        }
+    }
+
+    private Object resolveParameterValue(Value value, Class<?> parameterType) {
+        Map<String, Object> values = parameterValues.computeIfAbsent(parameterType, key -> new ConcurrentHashMap<>(8));
+        Object resolved = values.get(value.value());
+        if (null == resolved) {
+            resolved = values.computeIfAbsent(value.value(), key -> this.resolveValue(value, parameterType, parameterType));
+        }
+        return resolved;
+    }
+
+    /**
+     * 替换占位符并转换为目标类型
+     *
+     * @param value
+     * @param type
+     * @param injectionPoint 出错时报告的位置
+     * @return
+     */
+    private Object resolveValue(Value value, Class<?> type, Object injectionPoint) {
+        try {
+            return ValueConverters.convert(propertySources.resolvePlaceholders(value.value()), type);
+        } catch (IllegalArgumentException e) {
+            throw new BeanCreationException("can not resolve @Value(\"" + value.value() + "\") for " + injectionPoint + ", 错误信息:" + e.getMessage(), e);
+        }
+    }
+
+    private Value findValueAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Value) {
+                return (Value) annotation;
+            }
+        }
+        return null;
+    }
+
     @Override
     public void registerBean(BeanDefinition beanDefinition) {
+        this.doRegisterBean(beanDefinition);
+        // 新注册的bean可能改变模板中属性的单例判断，模板需要重新生成
+        prototypeTemplates.clear();
+        templateUnsupported.clear();
+        resolvedQualifiers.clear();
+        multiBindings.clear();
+        interceptorChains.clear();
+    }
+
+    /**
+     * 批量注册，所有定义登记完后只重建一次索引
+     *
+     * @param beanDefinitions
+     */
+    public void registerBeans(Collection<BeanDefinition> beanDefinitions) {
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            this.doRegisterBean(beanDefinition);
+        }
+        prototypeTemplates.clear();
+        templateUnsupported.clear();
+        resolvedQualifiers.clear();
+        multiBindings.clear();
+        interceptorChains.clear();
+    }
+
+    private void doRegisterBean(BeanDefinition beanDefinition) {
         String beanName = beanDefinition.getBeanName();
-        if (this.containsBean(beanName)) {
+        if (beanDefinitionMap.containsKey(beanName)) {
+            // 只检查本容器，子容器可以覆盖父容器的同名bean
+            singletonObjects.remove(beanDefinition);
             return;
         }
+        beanDefinition.assignId(nextBeanId.getAndIncrement());
         beanDefinitionMap.put(beanName, beanDefinition);
-        beanNames.add(beanName);
-        beanTypeMap.put(beanDefinition.getBeanClass(), beanName);
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        this.getProcessorChain(beanClass);
+        Set<Class<?>> superTypes = this.getSuperTypes(beanClass);
+        for (Class<?> type : superTypes) {
+            typeIndex.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(beanDefinition);
+        }
+        Set<TypeKey> genericSuperTypes = new LinkedHashSet<>();
+        this.collectGenericSuperTypes(beanClass, Collections.emptyMap(), genericSuperTypes);
+        for (TypeKey type : genericSuperTypes) {
+            genericTypeIndex.computeIfAbsent(type, key -> new CopyOnWriteArrayList<>()).add(beanDefinition);
+        }
+        if (null == beanDefinition.getQualifier()) {
+            // 带限定注解的bean只能通过限定注解获取
+            beanTypeMap.put(beanClass, beanName);
+        } else {
+            this.indexQualifier(superTypes, QualifierKey.of(beanClass, beanDefinition.getQualifier()), beanDefinition);
+        }
+        for (Annotation annotation : beanClass.getAnnotations()) {
+            if (customizedAnnotations.contains(annotation.annotationType())) {
+                // 类上声明的限定注解
+                this.indexQualifier(superTypes, QualifierKey.of(beanClass, annotation), beanDefinition);
+            }
+        }
+    }
+
+    /**
+     * 把bean登记到自身和所有父类型、接口的限定注解索引中，已登记的不覆盖
+     *
+     * @param superTypes
+     * @param key
+     * @param beanDefinition
+     */
+    private void indexQualifier(Set<Class<?>> superTypes, QualifierKey key, BeanDefinition beanDefinition) {
+        for (Class<?> type : superTypes) {
+            qualifierIndex.putIfAbsent(key.withType(type), beanDefinition);
+        }
+    }
+
+    private Set<Class<?>> getSuperTypes(Class<?> beanClass) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(beanClass);
+        while (!pending.isEmpty()) {
+            Class<?> type = pending.poll();
+            if (Object.class.equals(type) || !types.add(type)) {
+                continue;
+            }
+            if (null != type.getSuperclass()) {
+                pending.add(type.getSuperclass());
+            }
+            pending.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        return types;
+    }
+
+    /**
+     * 把类型绑定到已注册的bean名称上，用于接口绑定实现类
+     *
+     * @param type
+     * @param beanName
+     */
+    public void bindType(Class<?> type, String beanName) {
+        beanTypeMap.put(type, beanName);
+    }
+
+    /**
+     * 添加自定义注解（Module中声明的限定注解）
+     *
+     * @param annotationType
+     */
+    public void addCustomizedAnnotation(Class<? extends Annotation> annotationType) {
+        customizedAnnotations.add(annotationType);
+    }
+
+    /**
+     * 查找带有指定限定注解并且是该类型的bean
+     *
+     * @param type
+     * @param qualifier
+     * @return
+     */
+    public BeanDefinition getQualifiedBeanDefinition(Class<?> type, Class<? extends Annotation> qualifier) {
+        return this.findQualifiedBeanDefinition(QualifierKey.of(type, qualifier));
+    }
+
+    private BeanDefinition findQualifiedBeanDefinition(QualifierKey key) {
+        BeanDefinition beanDefinition = qualifierIndex.get(key);
+        if (null == beanDefinition && null != parent) {
+            return parent.findQualifiedBeanDefinition(key);
+        }
+        return beanDefinition;
+    }
+
+    /**
+     * 先查找用限定注解绑定的bean，没有再查找容器管理的子类
+     * 解析结果按(类型, 限定注解)缓存，同一个注入点再次解析只需要一次哈希查找
+     *
+     * @param type
+     * @param annotations
+     * @return
+     */
+    private BeanDefinition getQualifiedBeanDefinition(Class<?> type, Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (!customizedAnnotations.contains(annotation.annotationType())) {
+                continue;
+            }
+            QualifierKey key = QualifierKey.of(type, annotation, normalizedQualifiers);
+            BeanDefinition beanDefinition = resolvedQualifiers.get(key);
+            if (null != beanDefinition) {
+                return beanDefinition;
+            }
+            this.activateByType(type);
+            beanDefinition = this.findQualifiedBeanDefinition(key);
+            if (null == beanDefinition && !key.isTypeOnly()) {
+                // 只按注解类型绑定的bean匹配该注解的所有取值
+                beanDefinition = this.findQualifiedBeanDefinition(QualifierKey.of(type, annotation.annotationType()));
+            }
+            if (null == beanDefinition) {
+                beanDefinition = this.getChildBeanDefinition(type);
+            }
+            if (null != beanDefinition) {
+                resolvedQualifiers.put(key, beanDefinition);
+                return beanDefinition;
+            }
+        }
+        return this.getChildBeanDefinition(type);
     }
 
     public boolean containsBean(String beanName) {
-        return beanNames.contains(beanName);
+        return beanDefinitionMap.containsKey(beanName) || (null != parent && parent.containsBean(beanName))
+                || (this.activateByName(beanName) && beanDefinitionMap.containsKey(beanName));
     }
 
     public boolean containsBean(Class<?> clazz) {
+        return null != this.resolveBeanName(clazz);
+    }
+
+    /**
+     * 是否是本容器注册的beanDefinition
+     *
+     * @param beanDefinition
+     * @return
+     */
+    public boolean isLocalBeanDefinition(BeanDefinition beanDefinition) {
+        return beanDefinitionMap.get(beanDefinition.getBeanName()) == beanDefinition;
+    }
+
+    /**
+     * 本容器是否有该类型的bean，不检查父容器
+     *
+     * @param clazz
+     * @return
+     */
+    public boolean containsLocalBean(Class<?> clazz) {
         return beanTypeMap.containsKey(clazz);
     }
 
@@ -494,6 +1977,7 @@ public class DefaultFactory implements BeanFactory {
         for (Annotation annotation : annotations) {
             if (annotation.annotationType().equals(Named.class)
                     || annotation.annotationType().equals(Singleton.class)
+                    || annotation.annotationType().equals(SoftSingleton.class)
                     || customizedAnnotations.contains(annotation.annotationType())
                     || this.containsBean(clazz)) {
                 return true;
@@ -511,12 +1995,26 @@ public class DefaultFactory implements BeanFactory {
         }
     }
 
+    /**
+     * 获取已经创建好的bean实例，软引用单例从缓存中获取
+     *
+     * @param beanDefinition
+     * @return
+     */
+    public Object getCreatedBean(BeanDefinition beanDefinition) {
+        if (Scope.SCOPE_SOFT_SINGLETON.equals(beanDefinition.getScope())) {
+            return softSingletonCache.get(beanDefinition.getBeanName());
+        }
+        return singletonObjects.get(beanDefinition);
+    }
+
     public BeanDefinition getBeanDefinition(Class<?> type) {
-        return beanDefinitionMap.get(beanTypeMap.get(type));
+        String beanName = this.resolveBeanName(type);
+        return null == beanName ? null : this.getBeanDefinition(beanName);
     }
 
     public String getBeanNameByClass(Class clazz) {
-        return beanTypeMap.get(clazz);
+        return this.resolveBeanName(clazz);
     }
 
     public boolean checkProvider(Field field, Object instance) {
@@ -528,13 +2026,13 @@ public class DefaultFactory implements BeanFactory {
     }
 
     private void initProvider(Field field, Object instance) {
-        Type genericType = field.getGenericType();
+        TypeKey key = this.getInjectionKey(field);
         try {
             field.setAccessible(true);
 //          // 获取泛型里的类型
-            if (genericType instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) genericType;
-                Class<?> genericClazz = (Class<?>) parameterizedType.getActualTypeArguments()[0];
+            if (key.isParameterized()) {
+                TypeKey providedKey = key.getArgument(0);
+                Class<?> genericClazz = providedKey.getRawType();
                 field.setAccessible(true);
                 DefaultProvider<Object> provider = new DefaultProvider<>(this, getProviderTypeName(genericClazz, null));
                 if (genericClazz.isAnnotationPresent(Singleton.class)) {
@@ -547,6 +2045,10 @@ public class DefaultFactory implements BeanFactory {
                     provider.setNeedNewBean(false);
                     provider.setNeedFindChild(false);
                 }
+                if (providedKey.isParameterized() && !this.isHasCustomizedAnnotation(field.getAnnotations())) {
+                    // 带泛型参数的类型在获取时按完整的泛型类型查找
+                    provider.setTypeKey(providedKey);
+                }
                 field.set(instance, provider);
             }
         } catch (IllegalAccessException e) {
@@ -571,11 +2073,9 @@ public class DefaultFactory implements BeanFactory {
             return this.getBeanNameByClass(genericClazz);
         }
         // 如果没有再检查目前map中是否有类是否有是该类型子类的bean
-        Set<Class<?>> classes = beanTypeMap.keySet();
-        for (Class<?> clazz : classes) {
-            if (isChild(clazz, genericClazz)) {
-                return getProviderTypeName(clazz, null);
-            }
+        BeanDefinition childBeanDefinition = this.findBeanDefinition(beanDefinition -> isChild(beanDefinition.getBeanClass(), genericClazz));
+        if (null != childBeanDefinition) {
+            return getProviderTypeName(childBeanDefinition.getBeanClass(), null);
         }
         String simpleName = genericClazz.getSimpleName();
         beanName = simpleName.substring(0, 1).toLowerCase() + simpleName.substring(1);
@@ -608,18 +2108,6 @@ public class DefaultFactory implements BeanFactory {
      * @return
      */
     public BeanDefinition getChildBeanDefinition(Class<?> beanClass) {
-        for (BeanDefinition beanDefinition : beanDefinitionMap.values()) {
-            Class<?> superclass = beanDefinition.getBeanClass().getSuperclass();
-            while (true) {
-                if (null == superclass) {
-                    break;
-                }
-                if (superclass.equals(beanClass)) {
-                    return beanDefinition;
-                }
-                superclass = superclass.getSuperclass();
-            }
-        }
-        return null;
+        return this.findBeanDefinition(beanDefinition -> isChild(beanDefinition.getBeanClass(), beanClass));
     }
 }
@@ -17,6 +17,11 @@ public class DefaultProvider<T> implements Provider<T> {
 
     private boolean isNeedFindChild;
 
+    /**
+     * 带泛型参数的类型，不为null时按完整的泛型类型获取
+     */
+    private TypeKey typeKey;
+
     /**
      * JSR330标准要求每次get的值不能相同
      *
@@ -25,6 +30,9 @@ public class DefaultProvider<T> implements Provider<T> {
 //    private Object bean;
     @Override
     public T get() {
+        if (null != typeKey) {
+            return (T) factory.getBean(typeKey);
+        }
         BeanDefinition beanDefinition = factory.getBeanDefinition(beanName);
         if (null == beanDefinition) {
             return null;
@@ -57,4 +65,8 @@ public class DefaultProvider<T> implements Provider<T> {
     public void setNeedFindChild(boolean needFindChild) {
         isNeedFindChild = needFindChild;
     }
+
+    public void setTypeKey(TypeKey typeKey) {
+        this.typeKey = typeKey;
+    }
 }
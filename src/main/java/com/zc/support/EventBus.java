@@ -0,0 +1,222 @@
+package com.zc.support;
+
+import com.zc.annotation.Subscribe;
+import com.zc.exception.BeanCreationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 容器内的事件总线：注册bean时按类记录@Subscribe方法，发布时按事件的实际类型查找订阅者
+ * 每个事件类型的订阅者（包括订阅其父类和接口的）计算一次后缓存，调用使用注册时生成的方法句柄，发布时不使用反射
+ * 只投递给本容器中的订阅者，订阅者的bean在第一次收到事件时获取
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class EventBus {
+
+    private static final MethodType SUBSCRIBER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+    /**
+     * 类中的订阅方法，挂在Class上缓存
+     */
+    private static final ClassValue<Method[]> SUBSCRIBE_METHODS = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            List<Method> methods = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && !method.isBridge()) {
+                    methods.add(method);
+                }
+            }
+            return methods.toArray(new Method[0]);
+        }
+    };
+
+    /**
+     * 注册时整体替换，发布时读到的订阅者和索引总是一致的
+     */
+    private volatile Registry registry = new Registry(NO_SUBSCRIBERS);
+
+    /**
+     * key：执行器名称
+     */
+    private final Map<String, EventDispatcher> dispatchers = new ConcurrentHashMap<>();
+
+    /**
+     * 登记单例bean中的订阅方法，已计算的订阅者列表全部重新计算
+     *
+     * @param factory
+     * @param beanDefinitions
+     */
+    synchronized void register(DefaultFactory factory, Collection<BeanDefinition> beanDefinitions) {
+        List<Subscriber> added = new ArrayList<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            Method[] methods = SUBSCRIBE_METHODS.get(beanDefinition.getBeanClass());
+            if (methods.length == 0) {
+                continue;
+            }
+            if (!Scope.SCOPE_SINGLETON.equals(beanDefinition.getScope())) {
+                log.warn("only singleton can subscribe events, bean:{}", beanDefinition.getBeanName());
+                continue;
+            }
+            for (Method method : methods) {
+                added.add(this.newSubscriber(factory, beanDefinition.getBeanName(), method));
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        List<Subscriber> all = new ArrayList<>(Arrays.asList(registry.subscribers));
+        all.addAll(added);
+        Registry registry = new Registry(all.toArray(NO_SUBSCRIBERS));
+        // 订阅的类型提前计算，子类型在第一次发布时计算
+        for (Subscriber subscriber : registry.subscribers) {
+            registry.getSubscribers(subscriber.eventType);
+        }
+        this.registry = registry;
+    }
+
+    private Subscriber newSubscriber(DefaultFactory factory, String beanName, Method method) {
+        if (method.getParameterCount() != 1 || method.getParameterTypes()[0].isPrimitive()) {
+            throw new BeanCreationException("@Subscribe method must have one object parameter, method:" + method);
+        }
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(method).asType(SUBSCRIBER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new BeanCreationException("can not access @Subscribe method:" + method, e);
+        }
+        Subscribe subscribe = method.getAnnotation(Subscribe.class);
+        EventDispatcher dispatcher = null;
+        if (subscribe.async()) {
+            dispatcher = dispatchers.computeIfAbsent(subscribe.executor(), name -> new EventDispatcher(factory.getAsyncExecutor(name)));
+        }
+        return new Subscriber(factory, beanName, method, handle, dispatcher);
+    }
+
+    void publish(Object event) {
+        for (Subscriber subscriber : registry.getSubscribers(event.getClass())) {
+            subscriber.deliver(event);
+        }
+    }
+
+    /**
+     * 释放订阅者持有的bean，插件卸载时调用
+     */
+    synchronized void clear() {
+        registry = new Registry(NO_SUBSCRIBERS);
+        dispatchers.clear();
+    }
+
+    private static final class Registry {
+
+        /**
+         * 按注册顺序排列
+         */
+        private final Subscriber[] subscribers;
+
+        /**
+         * key：事件的实际类型
+         */
+        private final Map<Class<?>, Subscriber[]> index = new ConcurrentHashMap<>();
+
+        Registry(Subscriber[] subscribers) {
+            this.subscribers = subscribers;
+        }
+
+        Subscriber[] getSubscribers(Class<?> eventType) {
+            Subscriber[] eventSubscribers = index.get(eventType);
+            if (null == eventSubscribers) {
+                eventSubscribers = index.computeIfAbsent(eventType, this::findSubscribers);
+            }
+            return eventSubscribers;
+        }
+
+        private Subscriber[] findSubscribers(Class<?> eventType) {
+            List<Subscriber> found = new ArrayList<>();
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.eventType.isAssignableFrom(eventType)) {
+                    found.add(subscriber);
+                }
+            }
+            return found.isEmpty() ? NO_SUBSCRIBERS : found.toArray(NO_SUBSCRIBERS);
+        }
+    }
+
+    /**
+     * 一个订阅方法
+     */
+    static final class Subscriber {
+
+        private final DefaultFactory factory;
+
+        private final String beanName;
+
+        private final Method method;
+
+        private final Class<?> eventType;
+
+        /**
+         * (Object bean, Object event)void
+         */
+        private final MethodHandle handle;
+
+        /**
+         * 同步接收时为null
+         */
+        private final EventDispatcher dispatcher;
+
+        private volatile Object bean;
+
+        Subscriber(DefaultFactory factory, String beanName, Method method, MethodHandle handle, EventDispatcher dispatcher) {
+            this.factory = factory;
+            this.beanName = beanName;
+            this.method = method;
+            this.eventType = method.getParameterTypes()[0];
+            this.handle = handle;
+            this.dispatcher = dispatcher;
+        }
+
+        void deliver(Object event) {
+            if (null == dispatcher) {
+                this.invoke(event);
+            } else {
+                dispatcher.dispatch(this, event);
+            }
+        }
+
+        /**
+         * 订阅者的异常只记录，不影响其它订阅者和发布者
+         *
+         * @param event
+         */
+        void invoke(Object event) {
+            Object bean = this.bean;
+            try {
+                if (null == bean) {
+                    bean = factory.getBean(beanName);
+                    this.bean = bean;
+                }
+                handle.invokeExact(bean, event);
+            } catch (Throwable e) {
+                log.error("deliver event failed, method:{}, event:{}, 错误信息:{}", method, event.getClass().getName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.zc.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 一个执行器的异步事件投递：发布线程写入有界的多生产者单消费者环形队列，执行器中同一时间只有一个任务按顺序取出并投递
+ * 队列满时在发布线程中直接投递，不阻塞也不丢弃，这部分事件不保证顺序
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class EventDispatcher {
+
+    private static final int CAPACITY = 8192;
+
+    /**
+     * 一个任务最多投递的事件数，之后重新提交，避免长期占用执行器的线程
+     */
+    private static final int MAX_BATCH = 1024;
+
+    private final AsyncExecutor executor;
+
+    private final int mask = CAPACITY - 1;
+
+    /**
+     * 每个槽位的序号：等于写入位置时可写，等于写入位置+1时可读
+     */
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+
+    private final EventBus.Subscriber[] subscribers = new EventBus.Subscriber[CAPACITY];
+
+    private final Object[] events = new Object[CAPACITY];
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 只由消费者访问，消费者之间通过scheduled保证先后
+     */
+    private long head;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    EventDispatcher(AsyncExecutor executor) {
+        this.executor = executor;
+        for (int i = 0; i < CAPACITY; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    void dispatch(EventBus.Subscriber subscriber, Object event) {
+        if (!this.offer(subscriber, event)) {
+            subscriber.invoke(event);
+            return;
+        }
+        this.schedule();
+    }
+
+    private boolean offer(EventBus.Subscriber subscriber, Object event) {
+        long position = tail.get();
+        for (; ; ) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    subscribers[index] = subscriber;
+                    events[index] = event;
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // 队列已满
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+            log.warn("async event dropped, executor is shut down:{}", executor.getName());
+        }
+    }
+
+    private void drain() {
+        try {
+            int drained = 0;
+            while (drained < MAX_BATCH && this.poll()) {
+                drained++;
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        // 释放标记后生产者可能看到标记还在而没有提交任务，这里重新检查
+        if (this.hasNext()) {
+            this.schedule();
+        }
+    }
+
+    private boolean poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return false;
+        }
+        EventBus.Subscriber subscriber = subscribers[index];
+        Object event = events[index];
+        subscribers[index] = null;
+        events[index] = null;
+        sequences.lazySet(index, head + CAPACITY);
+        head++;
+        subscriber.invoke(event);
+        return true;
+    }
+
+    private boolean hasNext() {
+        return sequences.get((int) head & mask) == head + 1;
+    }
+}
@@ -2,6 +2,8 @@ package com.zc.support;
 
 import com.zc.annotation.PackageConfiguration;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
 import org.springframework.util.CollectionUtils;
 
 import java.io.File;
@@ -9,6 +11,8 @@ import java.io.FileFilter;
 import java.io.IOException;
 import java.net.JarURLConnection;
 import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
 import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,9 +21,14 @@ import java.util.Enumeration;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import java.util.stream.Collectors;
 
 /**
  * @author zhaochang.
@@ -34,16 +43,88 @@ public class FileScanner {
     private static final String DEFAULT_PACKAGE = "com.zc";
 
     /**
-     * 包的扫描路径
+     * 包的扫描路径，每个扫描器独立持有
      */
-    private static List<PackageDefinition> packages;
+    private final List<PackageDefinition> packages = new ArrayList<>(32);
+
+    /**
+     * 扫描方式
+     */
+    private final ScanMode scanMode;
+
+    /**
+     * 并行扫描多个包的线程池，为null时串行扫描
+     */
+    private final ExecutorService executor;
+
+    /**
+     * 同时扫描的包数，包括调用线程；线程池最多使用parallelism-1个线程
+     */
+    private final int parallelism;
+
+    /**
+     * 加载类使用的类加载器，创建扫描器时确定，避免并行扫描时线程上下文类加载器不一致
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * 是否只扫描插件类加载器自身的资源，不扫描父类加载器中的类
+     */
+    private final boolean isolated;
+
+    /**
+     * 读取class文件元数据，缓存读取结果；查找配置包、条件判断和按需启动共用，每个class文件只解析一次
+     */
+    private final CachingMetadataReaderFactory metadataReaderFactory;
+
+    /**
+     * 加载前按类名过滤，返回false的类不会被加载
+     */
+    private volatile Predicate<String> classFilter;
 
     public FileScanner() {
+        this(ScanMode.CONFIGURATION, null, 1);
+    }
+
+    public FileScanner(ScanMode scanMode, ExecutorService executor, int parallelism) {
+        this.scanMode = scanMode;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.classLoader = Thread.currentThread().getContextClassLoader();
+        this.isolated = false;
+        this.metadataReaderFactory = newMetadataReaderFactory(classLoader);
         initPackages();
     }
 
+    /**
+     * 插件扫描器，只扫描插件类加载器中的jar，jar文件不缓存以便插件卸载
+     *
+     * @param pluginClassLoader
+     * @param packages
+     */
+    public FileScanner(URLClassLoader pluginClassLoader, String... packages) {
+        this.scanMode = ScanMode.PACKAGES;
+        this.executor = null;
+        this.parallelism = 1;
+        this.classLoader = pluginClassLoader;
+        this.isolated = true;
+        this.metadataReaderFactory = newMetadataReaderFactory(pluginClassLoader);
+        addPackages(packages);
+    }
+
+    /**
+     * 缓存不限大小，扫描期间每个class文件都会被再次读取，LRU淘汰会让缓存失效；启动完成后清空
+     */
+    private static CachingMetadataReaderFactory newMetadataReaderFactory(ClassLoader classLoader) {
+        CachingMetadataReaderFactory metadataReaderFactory = new CachingMetadataReaderFactory(classLoader);
+        metadataReaderFactory.setCacheLimit(Integer.MAX_VALUE);
+        return metadataReaderFactory;
+    }
+
     private void initPackages() {
-        packages = new ArrayList<>(32);
+        if (!ScanMode.CONFIGURATION.equals(scanMode)) {
+            return;
+        }
         // 需要先扫描是否有配置的包路径
         setConfigurePackages();
         // 如果没有则使用默认路径
@@ -84,18 +165,69 @@ public class FileScanner {
     }
 
     private void setConfigurePackages() {
-        List<Class<?>> classes = getClasses();
-        if (CollectionUtils.isEmpty(classes)) {
+        List<String> classNames = getClassNames(DEFAULT_PACKAGE);
+        if (CollectionUtils.isEmpty(classNames)) {
             log.info("No class found in path:{}", DEFAULT_PACKAGE);
         }
-        List<Class<?>> list = classes.stream().filter(o -> o.getAnnotation(PackageConfiguration.class) != null).collect(Collectors.toList());
+        // 只读取class文件中的注解，不加载类
+        List<String> list = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                if (metadataReaderFactory.getMetadataReader(className).getAnnotationMetadata().hasAnnotation(PackageConfiguration.class.getName())) {
+                    list.add(className);
+                }
+            } catch (IOException e) {
+                log.error("读取类信息失败:{}, 错误信息:{}", className, e.getMessage());
+            }
+        }
         if (CollectionUtils.isEmpty(list)) {
             log.info("no packageConfiguration");
         }
-        for (Class<?> aClass : list) {
-            PackageConfiguration annotation = aClass.getAnnotation(PackageConfiguration.class);
-            addPackages(annotation.packages());
+        for (String className : list) {
+            try {
+                PackageConfiguration annotation = classLoader.loadClass(className).getAnnotation(PackageConfiguration.class);
+                addPackages(annotation.packages());
+            } catch (ClassNotFoundException e) {
+                log.error("未找到类:{}, 错误信息:{}", className, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 需要扫描的包
+     *
+     * @return
+     */
+    public List<String> getPackageNames() {
+        List<String> packageNames = new ArrayList<>();
+        if (ScanMode.NONE.equals(scanMode)) {
+            return packageNames;
+        }
+        for (PackageDefinition packageDefinition : packages) {
+            if (packageDefinition.isValid()) {
+                packageNames.add(packageDefinition.getPackageName());
+            }
         }
+        return packageNames;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public MetadataReaderFactory getMetadataReaderFactory() {
+        return metadataReaderFactory;
+    }
+
+    /**
+     * 清空元数据缓存，启动完成后不再需要
+     */
+    public void clearMetadataCache() {
+        metadataReaderFactory.clearCache();
+    }
+
+    public void setClassFilter(Predicate<String> classFilter) {
+        this.classFilter = classFilter;
     }
 
     /**
@@ -103,30 +235,96 @@ public class FileScanner {
      */
     public List<Class<?>> getClasses() {
         List<Class<?>> classes = new ArrayList<>();
+        if (ScanMode.NONE.equals(scanMode)) {
+            return classes;
+        }
         if (CollectionUtils.isEmpty(packages)) {
             classes.addAll(this.getSpecifiedPackageClasses(DEFAULT_PACKAGE));
-        } else {
-            for (PackageDefinition packageDefinition : packages) {
-                if (packageDefinition.isValid()) {
-                    classes.addAll(this.getSpecifiedPackageClasses(packageDefinition.getPackageName()));
-                }
+            return classes;
+        }
+        List<String> packageNames = this.getPackageNames();
+        if (null == executor || parallelism < 2 || packageNames.size() < 2) {
+            for (String packageName : packageNames) {
+                classes.addAll(this.getSpecifiedPackageClasses(packageName));
+            }
+            return classes;
+        }
+        // 多个包并行扫描，按包的顺序合并结果保证顺序稳定
+        // 调用线程也领取任务，等待前所有任务都已被领取，线程池没有空闲线程（例如在同一个线程池上buildAsync）时由调用线程扫描完
+        List<FutureTask<List<Class<?>>>> tasks = new ArrayList<>(packageNames.size());
+        for (String packageName : packageNames) {
+            tasks.add(new FutureTask<>(() -> this.getSpecifiedPackageClasses(packageName)));
+        }
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(parallelism, tasks.size()) - 1;
+        try {
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> runTasks(tasks, next));
+            }
+        } catch (RejectedExecutionException e) {
+            log.warn("扫描线程池拒绝任务, 由当前线程扫描:{}", e.getMessage());
+        }
+        runTasks(tasks, next);
+        for (FutureTask<List<Class<?>>> task : tasks) {
+            try {
+                classes.addAll(task.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("扫描被中断, 错误信息:{}", e.getMessage());
+            } catch (ExecutionException e) {
+                log.error("扫描失败, 错误信息:{}", e.getCause().getMessage());
             }
         }
         return classes;
     }
 
+    /**
+     * 依次领取还没开始的扫描任务并执行
+     *
+     * @param tasks
+     * @param next 下一个待领取任务的下标
+     */
+    private static void runTasks(List<FutureTask<List<Class<?>>>> tasks, AtomicInteger next) {
+        int index;
+        while ((index = next.getAndIncrement()) < tasks.size()) {
+            tasks.get(index).run();
+        }
+    }
+
     /**
      * 获取某个包路径中的类
      *
      * @param packageName
      * @return
      */
-    private List<Class<?>> getSpecifiedPackageClasses(String packageName) {
+    public List<Class<?>> getSpecifiedPackageClasses(String packageName) {
         List<Class<?>> classes = new ArrayList<>();
+        Predicate<String> classFilter = this.classFilter;
+        for (String className : this.getClassNames(packageName)) {
+            if (null != classFilter && !classFilter.test(className)) {
+                continue;
+            }
+            try {
+                classes.add(classLoader.loadClass(className));
+            } catch (ClassNotFoundException e) {
+                log.error("未找到类:{}, 错误信息:{}", className, e.getMessage());
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 获取某个包路径中的类名，不加载类
+     *
+     * @param packageName
+     * @return
+     */
+    public List<String> getClassNames(String packageName) {
+        List<String> classes = new ArrayList<>();
         String packageDir = packageName.replace('.', '/');
         Enumeration<URL> urls;
         try {
-            urls = Thread.currentThread().getContextClassLoader().getResources(packageDir);
+            urls = isolated ? ((URLClassLoader) classLoader).findResources(packageDir) : classLoader.getResources(packageDir);
             while (urls.hasMoreElements()) {
                 // 获取下一个元素
                 URL url = urls.nextElement();
@@ -144,10 +342,18 @@ public class FileScanner {
                     System.out.println("jar类型的扫描");
                     JarFile jar;
                     // 获取jar
-                    jar = ((JarURLConnection) url.openConnection()).getJarFile();
+                    URLConnection connection = url.openConnection();
+                    if (isolated) {
+                        // 插件的jar不放入全局缓存，扫描完关闭
+                        connection.setUseCaches(false);
+                    }
+                    jar = ((JarURLConnection) connection).getJarFile();
                     // 从此jar包 得到一个枚举类
                     Enumeration<JarEntry> entries = jar.entries();
                     this.findJarClasses(packageName, packageDir, entries, classes);
+                    if (isolated) {
+                        jar.close();
+                    }
                 }
             }
         } catch (IOException e) {
@@ -163,7 +369,7 @@ public class FileScanner {
      * @param fileDir
      * @param classes
      */
-    private void findFileClasses(String packageName, String fileDir, List<Class<?>> classes) {
+    private void findFileClasses(String packageName, String fileDir, List<String> classes) {
         // 获取此包的目录 建立一个File
         File dir = new File(fileDir);
         // 如果不存在或者 也不是目录就直接返回
@@ -182,11 +388,7 @@ public class FileScanner {
             } else {
                 // 如果是java类文件 去掉后面的.class 只留下类名
                 String className = file.getName().substring(0, file.getName().length() - 6);
-                try {
-                    classes.add(Thread.currentThread().getContextClassLoader().loadClass(packageName + "." + className));
-                } catch (ClassNotFoundException e) {
-                    log.error("未找到类:{}, 错误信息:{}", packageName, e.getMessage());
-                }
+                classes.add(packageName + "." + className);
             }
         }
     }
@@ -199,7 +401,7 @@ public class FileScanner {
      * @param entries
      * @param classes
      */
-    private void findJarClasses(String packageName, String fileDir, Enumeration<JarEntry> entries, List<Class<?>> classes) {
+    private void findJarClasses(String packageName, String fileDir, Enumeration<JarEntry> entries, List<String> classes) {
         // 同样的进行循环迭代
         while (entries.hasMoreElements()) {
             // 获取jar里的一个实体 可以是目录 和一些jar包里的其他文件 如META-INF等文件
@@ -224,12 +426,8 @@ public class FileScanner {
                     if (name.endsWith(".class") && !entry.isDirectory()) {
                         // 去掉后面的".class" 获取真正的类名
                         String className = name.substring(packageName.length() + 1, name.length() - 6);
-                        try {
-                            // 添加到classes
-                            classes.add(Class.forName(packageName + '.' + className));
-                        } catch (ClassNotFoundException e) {
-                            log.error("未找到类:{}, 错误信息:{}", packageName, e.getMessage());
-                        }
+                        // 添加到classes
+                        classes.add(packageName + '.' + className);
                     }
                 }
             }
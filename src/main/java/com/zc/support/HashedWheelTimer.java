@@ -0,0 +1,218 @@
+package com.zc.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间轮计时器：一个线程按固定间隔转动，每格挂着到期时间落在这一格的任务，添加和取消都是O(1)
+ * 任务数量增加不增加线程，精度为一格的时间；到期的任务在计时线程中执行，只适合提交到执行器这样的轻量操作
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class HashedWheelTimer {
+
+    private final long tickNanos;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    /**
+     * 新添加的任务，由计时线程在每格开始时放入对应的格子
+     */
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private final Thread worker;
+
+    private final long startTime;
+
+    private volatile boolean stopped;
+
+    /**
+     * 只由计时线程访问
+     */
+    private long tick;
+
+    HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param task
+     * @param delayNanos
+     * @return 已停止时返回已取消的任务
+     */
+    Timeout newTimeout(Runnable task, long delayNanos) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + Math.max(0, delayNanos));
+        if (stopped) {
+            timeout.cancel();
+            return timeout;
+        }
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 停止计时，未到期的任务不再执行
+     */
+    void stop() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!stopped) {
+            long deadline = this.waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            this.transferPending();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+        pending.clear();
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        for (; ; ) {
+            long current = System.nanoTime() - startTime;
+            long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - current + 999_999);
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (stopped) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while (null != (timeout = pending.poll())) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // 已经过期的放在当前格，本格就执行
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    static final class Timeout {
+
+        private final Runnable task;
+
+        /**
+         * 相对计时器启动时间的纳秒数
+         */
+        private final long deadline;
+
+        private volatile boolean cancelled;
+
+        /**
+         * 以下字段只由计时线程访问
+         */
+        private long remainingRounds;
+
+        private Timeout prev;
+
+        private Timeout next;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消后不再执行，所在的格子下一次转到时移除
+         */
+        void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * 一格中的任务，双向链表
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.prev = tail;
+            timeout.next = null;
+            if (null == tail) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (null != timeout) {
+                Timeout next = timeout.next;
+                if (timeout.cancelled) {
+                    this.remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    this.remove(timeout);
+                    try {
+                        timeout.task.run();
+                    } catch (Throwable e) {
+                        log.error("timer task failed, 错误信息:{}", e.getMessage());
+                    }
+                } else if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (null == timeout.prev) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (null == timeout.next) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
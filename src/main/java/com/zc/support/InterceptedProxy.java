@@ -0,0 +1,13 @@
+package com.zc.support;
+
+/**
+ * 拦截代理实现的接口，用于取得被代理的原始bean
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface InterceptedProxy {
+
+    Object getTargetBean();
+}
@@ -0,0 +1,189 @@
+package com.zc.support;
+
+import com.zc.annotation.Async;
+import com.zc.annotation.Cacheable;
+import com.zc.annotation.InterceptorBinding;
+import com.zc.annotation.Interceptors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Dispatcher;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.FixedValue;
+import org.springframework.objenesis.Objenesis;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 被拦截的类型：哪些方法需要拦截，以及为该类型生成的代理类
+ * 每个类型只生成一个代理类，挂在Class上缓存；没有拦截的方法直接转发给原始bean
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class InterceptedType {
+
+    private static final ClassValue<InterceptedType> CACHE = new ClassValue<InterceptedType>() {
+        @Override
+        protected InterceptedType computeValue(Class<?> type) {
+            return new InterceptedType(type);
+        }
+    };
+
+    /**
+     * 不使用全局缓存，避免插件卸载后类仍被缓存引用
+     */
+    private static final Objenesis OBJENESIS = new ObjenesisStd(false);
+
+    /**
+     * 前两个回调：0-直接转发给原始bean，1-返回原始bean，之后每个被拦截的方法一个回调
+     */
+    private static final int FIRST_METHOD_CALLBACK = 2;
+
+    /**
+     * 需要拦截的方法，下标对应回调的下标减去FIRST_METHOD_CALLBACK
+     */
+    private final Method[] methods;
+
+    private final Class<?> proxyClass;
+
+    private final ObjectInstantiator<?> instantiator;
+
+    private InterceptedType(Class<?> type) {
+        this.methods = findInterceptedMethods(type);
+        Class<?> proxyClass = null;
+        if (methods.length > 0) {
+            proxyClass = createProxyClass(type, methods);
+        }
+        this.proxyClass = proxyClass;
+        this.instantiator = null == proxyClass ? null : OBJENESIS.getInstantiatorOf(proxyClass);
+    }
+
+    static InterceptedType of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    boolean isIntercepted() {
+        return null != proxyClass;
+    }
+
+    Method[] getMethods() {
+        return methods;
+    }
+
+    /**
+     * 类上或方法上带有@Interceptors、@Async、@Cacheable或拦截器绑定注解的公共方法
+     */
+    private static Method[] findInterceptedMethods(Class<?> type) {
+        if (type.isInterface() || Modifier.isFinal(type.getModifiers()) || MethodInterceptor.class.isAssignableFrom(type)) {
+            // 拦截器自身不被拦截，绑定注解放在拦截器上表示它处理哪些方法
+            return new Method[0];
+        }
+        boolean classIntercepted = hasInterceptorAnnotation(type.getAnnotations());
+        List<Method> methods = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            int modifiers = method.getModifiers();
+            if (Object.class.equals(method.getDeclaringClass()) || Modifier.isStatic(modifiers) || method.isBridge()) {
+                continue;
+            }
+            if (!classIntercepted && !hasInterceptorAnnotation(method.getAnnotations())) {
+                continue;
+            }
+            if (Modifier.isFinal(modifiers)) {
+                log.warn("final method can not be intercepted, method:{}", method);
+                continue;
+            }
+            methods.add(method);
+        }
+        return methods.toArray(new Method[0]);
+    }
+
+    static boolean hasInterceptorAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Interceptors || annotation instanceof Async || annotation instanceof Cacheable
+                    || isInterceptorBinding(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isInterceptorBinding(Annotation annotation) {
+        return annotation.annotationType().isAnnotationPresent(InterceptorBinding.class);
+    }
+
+    private static Class<?> createProxyClass(Class<?> type, Method[] methods) {
+        Map<String, Integer> callbackIndexes = new HashMap<>(methods.length * 2);
+        for (int i = 0; i < methods.length; i++) {
+            callbackIndexes.put(signature(methods[i]), FIRST_METHOD_CALLBACK + i);
+        }
+        Class<? extends Callback>[] callbackTypes = newCallbackTypes(methods.length);
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(type);
+        enhancer.setInterfaces(new Class<?>[]{InterceptedProxy.class});
+        enhancer.setClassLoader(type.getClassLoader());
+        enhancer.setUseCache(false);
+        enhancer.setCallbackTypes(callbackTypes);
+        enhancer.setCallbackFilter(new CallbackFilter() {
+            @Override
+            public int accept(Method method) {
+                if (InterceptedProxy.class.equals(method.getDeclaringClass())) {
+                    return 1;
+                }
+                return callbackIndexes.getOrDefault(signature(method), 0);
+            }
+        });
+        try {
+            return enhancer.createClass();
+        } catch (RuntimeException e) {
+            log.warn("can not create interceptor proxy for class:{}, 错误信息:{}", type.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Callback>[] newCallbackTypes(int methodCount) {
+        Class<? extends Callback>[] callbackTypes = new Class[FIRST_METHOD_CALLBACK + methodCount];
+        callbackTypes[0] = Dispatcher.class;
+        callbackTypes[1] = FixedValue.class;
+        Arrays.fill(callbackTypes, FIRST_METHOD_CALLBACK, callbackTypes.length, org.springframework.cglib.proxy.MethodInterceptor.class);
+        return callbackTypes;
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    /**
+     * 创建代理实例，不执行构造方法，所有调用都转发给原始bean
+     *
+     * @param target
+     * @param chains 和getMethods()一一对应
+     * @return
+     */
+    Object newProxy(Object target, InterceptorChain[] chains) {
+        Callback[] callbacks = new Callback[FIRST_METHOD_CALLBACK + chains.length];
+        callbacks[0] = (Dispatcher) () -> target;
+        callbacks[1] = (FixedValue) () -> target;
+        for (int i = 0; i < chains.length; i++) {
+            InterceptorChain chain = chains[i];
+            callbacks[FIRST_METHOD_CALLBACK + i] = (org.springframework.cglib.proxy.MethodInterceptor) (proxy, method, args, methodProxy) ->
+                    chain.invoke(target, args, methodProxy);
+        }
+        Factory proxy = (Factory) instantiator.newInstance();
+        proxy.setCallbacks(callbacks);
+        return proxy;
+    }
+}
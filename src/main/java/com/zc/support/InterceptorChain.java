@@ -0,0 +1,41 @@
+package com.zc.support;
+
+import org.springframework.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * 一个方法的拦截器链，按bean的类预先计算，调用时不再查找拦截器
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+final class InterceptorChain {
+
+    private final Method method;
+
+    private final MethodInterceptor[] interceptors;
+
+    InterceptorChain(Method method, MethodInterceptor[] interceptors) {
+        this.method = method;
+        this.interceptors = interceptors;
+    }
+
+    Method getMethod() {
+        return method;
+    }
+
+    MethodInterceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    Object invoke(Object target, Object[] arguments, MethodProxy methodProxy) throws Throwable {
+        MethodInvocation invocation = MethodInvocation.acquire(this, target, arguments, methodProxy);
+        try {
+            return invocation.proceed();
+        } finally {
+            MethodInvocation.release(invocation);
+        }
+    }
+}
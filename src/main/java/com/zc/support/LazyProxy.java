@@ -0,0 +1,157 @@
+package com.zc.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 延迟注入的代理，第一次调用方法时获取真正的bean，之后通过缓存的MethodHandle转发
+ * 代理类按接口类型只生成一次，创建代理只需要调用缓存的构造方法
+ * equals、hashCode和toString按代理自身回答，不会触发获取
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public final class LazyProxy {
+
+    /**
+     * 只用来生成代理类，不会被调用
+     */
+    private static final InvocationHandler UNRESOLVED = (proxy, method, args) -> {
+        throw new IllegalStateException("lazy proxy prototype can not be invoked");
+    };
+
+    /**
+     * 代理类的构造方法；使用ClassValue，插件卸载后不会持有插件中的接口
+     */
+    private static final ClassValue<Constructor<?>> PROXY_CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                // Proxy.getProxyClass已废弃，先创建一个实例拿到代理类，之后只调用缓存的构造方法
+                Object prototype = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, UNRESOLVED);
+                Constructor<?> constructor = prototype.getClass().getConstructor(InvocationHandler.class);
+                // 非public接口的代理类也不是public的
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("can not create lazy proxy for type:" + type.getName(), e);
+            }
+        }
+    };
+
+    private static final MethodType FORWARD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * 接口方法转发使用的MethodHandle，按接口类型缓存
+     */
+    private static final ClassValue<Map<Method, MethodHandle>> METHOD_HANDLES = new ClassValue<Map<Method, MethodHandle>>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(16);
+        }
+    };
+
+    private LazyProxy() {
+    }
+
+    /**
+     * 是否可以创建延迟代理
+     *
+     * @param type
+     * @return
+     */
+    public static boolean isSupported(Class<?> type) {
+        return type.isInterface();
+    }
+
+    /**
+     * 创建代理
+     *
+     * @param type     接口类型
+     * @param resolver 获取真正的bean
+     * @return
+     */
+    public static Object create(Class<?> type, Supplier<Object> resolver) {
+        try {
+            return PROXY_CONSTRUCTORS.get(type).newInstance(new Handler(resolver));
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("can not create lazy proxy for type:" + type.getName(), e);
+        }
+    }
+
+    private static class Handler implements InvocationHandler {
+
+        private Supplier<Object> resolver;
+
+        private volatile Object target;
+
+        Handler(Supplier<Object> resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (Object.class == method.getDeclaringClass()) {
+                return invokeObjectMethod(proxy, method, args);
+            }
+            Object target = this.target;
+            if (null == target) {
+                target = this.resolve();
+            }
+            Object[] arguments = null == args ? NO_ARGS : args;
+            return (Object) getMethodHandle(method).invokeExact(target, arguments);
+        }
+
+        private static Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "LazyProxy(" + proxy.getClass().getInterfaces()[0].getName() + ")@" + Integer.toHexString(System.identityHashCode(proxy));
+            }
+        }
+
+        /**
+         * 形如(Object, Object[])Object的MethodHandle，非public接口的方法同样可以调用
+         */
+        private static MethodHandle getMethodHandle(Method method) throws IllegalAccessException {
+            Map<Method, MethodHandle> handles = METHOD_HANDLES.get(method.getDeclaringClass());
+            MethodHandle handle = handles.get(method);
+            if (null == handle) {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method)
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(FORWARD_TYPE);
+                handles.put(method, handle);
+            }
+            return handle;
+        }
+
+        private synchronized Object resolve() {
+            if (null == target) {
+                Object bean = resolver.get();
+                if (null == bean) {
+                    throw new IllegalStateException("lazy dependency can not be resolved");
+                }
+                target = bean;
+                // 获取后不再需要，释放对容器的引用
+                resolver = null;
+            }
+            return target;
+        }
+    }
+}
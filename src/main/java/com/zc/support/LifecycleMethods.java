@@ -0,0 +1,125 @@
+package com.zc.support;
+
+import com.zc.annotation.PostConstruct;
+import com.zc.annotation.PreDestroy;
+import com.zc.exception.BeanCreationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 类的生命周期方法，每个类只解析一次
+ * 缓存挂在Class上，插件卸载时随类一起回收
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class LifecycleMethods {
+
+    private static final ClassValue<LifecycleMethods> CACHE = new ClassValue<LifecycleMethods>() {
+        @Override
+        protected LifecycleMethods computeValue(Class<?> type) {
+            return new LifecycleMethods(type);
+        }
+    };
+
+    /**
+     * 父类的方法在前
+     */
+    private final Method[] postConstructs;
+
+    /**
+     * 子类的方法在前
+     */
+    private final Method[] preDestroys;
+
+    private LifecycleMethods(Class<?> type) {
+        List<Method> postConstructs = new ArrayList<>();
+        List<Method> preDestroys = new ArrayList<>();
+        // 子类重写的方法只执行一次
+        Set<String> signatures = new HashSet<>();
+        for (Class<?> clazz = type; null != clazz && !clazz.equals(Object.class); clazz = clazz.getSuperclass()) {
+            List<Method> classPostConstructs = new ArrayList<>(1);
+            for (Method method : clazz.getDeclaredMethods()) {
+                boolean overridden = !Modifier.isPrivate(method.getModifiers())
+                        && !signatures.add(method.getName() + Arrays.toString(method.getParameterTypes()));
+                if (overridden) {
+                    continue;
+                }
+                if (method.isAnnotationPresent(PostConstruct.class)) {
+                    classPostConstructs.add(checkMethod(method, PostConstruct.class));
+                }
+                if (method.isAnnotationPresent(PreDestroy.class)) {
+                    preDestroys.add(checkMethod(method, PreDestroy.class));
+                }
+            }
+            postConstructs.addAll(0, classPostConstructs);
+        }
+        this.postConstructs = postConstructs.toArray(new Method[0]);
+        this.preDestroys = preDestroys.toArray(new Method[0]);
+    }
+
+    private static Method checkMethod(Method method, Class<? extends Annotation> annotationType) {
+        if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+            throw new BeanCreationException("@" + annotationType.getSimpleName() + " method must be a non-static method without parameters, method:" + method);
+        }
+        method.setAccessible(true);
+        return method;
+    }
+
+    static LifecycleMethods of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    boolean hasPostConstruct() {
+        return postConstructs.length > 0;
+    }
+
+    boolean hasPreDestroy() {
+        return preDestroys.length > 0;
+    }
+
+    /**
+     * 执行@PostConstruct方法，失败时抛出异常
+     *
+     * @param instance
+     */
+    void postConstruct(Object instance) {
+        for (Method method : postConstructs) {
+            try {
+                method.invoke(instance);
+            } catch (InvocationTargetException e) {
+                throw new BeanCreationException("invoke @PostConstruct method failed, method:" + method, e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new BeanCreationException("can not access @PostConstruct method:" + method, e);
+            }
+        }
+    }
+
+    /**
+     * 执行@PreDestroy方法，某个方法失败不影响后面的方法
+     *
+     * @param instance
+     */
+    void preDestroy(Object instance) {
+        for (Method method : preDestroys) {
+            try {
+                method.invoke(instance);
+            } catch (InvocationTargetException e) {
+                log.error("invoke @PreDestroy method failed, method:{}, 错误信息:{}", method, e.getCause().getMessage());
+            } catch (IllegalAccessException e) {
+                log.error("can not access @PreDestroy method:{}, 错误信息:{}", method, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.zc.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * 按单例之间的依赖分批执行关闭回调
+ * 依赖它的单例先执行；同一批之间没有依赖，可以并行执行
+ * 存在循环依赖无法排序时，剩余的单例按给定顺序逐个执行
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class LifecycleProcessor {
+
+    private LifecycleProcessor() {
+    }
+
+    /**
+     * 关闭：依赖它的单例先执行，超时或失败只记录日志，继续关闭其它单例
+     *
+     * @param beans        按创建顺序排列
+     * @param dependencies key：单例 value：创建时直接依赖的单例
+     * @param action
+     * @param executor
+     * @param timeoutNanos 每个单例的超时时间
+     */
+    static void shutdown(List<BeanDefinition> beans, Map<BeanDefinition, Set<BeanDefinition>> dependencies,
+                         Consumer<BeanDefinition> action, ExecutorService executor, long timeoutNanos) {
+        List<BeanDefinition> reversed = new ArrayList<>(beans);
+        Collections.reverse(reversed);
+        run(reversed, getBlockers(beans, dependencies), action, executor, timeoutNanos);
+    }
+
+    /**
+     * 计算每个单例需要等待的单例，依赖链上没有回调的单例会被跳过，只保留需要执行回调的单例
+     *
+     * @param beans
+     * @param dependencies
+     * @return
+     */
+    private static Map<BeanDefinition, Set<BeanDefinition>> getBlockers(List<BeanDefinition> beans,
+                                                                       Map<BeanDefinition, Set<BeanDefinition>> dependencies) {
+        Set<BeanDefinition> targets = new HashSet<>(beans);
+        Map<BeanDefinition, Set<BeanDefinition>> blockers = new HashMap<>(beans.size() * 2);
+        for (BeanDefinition bean : beans) {
+            blockers.put(bean, new LinkedHashSet<>());
+        }
+        for (BeanDefinition bean : beans) {
+            for (BeanDefinition dependency : getReachableTargets(bean, dependencies, targets)) {
+                blockers.get(dependency).add(bean);
+            }
+        }
+        return blockers;
+    }
+
+    private static Set<BeanDefinition> getReachableTargets(BeanDefinition bean, Map<BeanDefinition, Set<BeanDefinition>> dependencies,
+                                                           Set<BeanDefinition> targets) {
+        Set<BeanDefinition> result = new LinkedHashSet<>();
+        Set<BeanDefinition> visited = new HashSet<>();
+        visited.add(bean);
+        Deque<BeanDefinition> stack = new ArrayDeque<>(dependencies.getOrDefault(bean, Collections.emptySet()));
+        while (!stack.isEmpty()) {
+            BeanDefinition dependency = stack.pop();
+            if (!visited.add(dependency)) {
+                continue;
+            }
+            if (targets.contains(dependency)) {
+                // 更远的依赖由该单例自己等待
+                result.add(dependency);
+            } else {
+                stack.addAll(dependencies.getOrDefault(dependency, Collections.emptySet()));
+            }
+        }
+        return result;
+    }
+
+    private static void run(List<BeanDefinition> beans, Map<BeanDefinition, Set<BeanDefinition>> blockers, Consumer<BeanDefinition> action,
+                            ExecutorService executor, long timeoutNanos) {
+        List<BeanDefinition> remaining = new ArrayList<>(beans);
+        Set<BeanDefinition> done = new HashSet<>(beans.size() * 2);
+        while (!remaining.isEmpty()) {
+            List<BeanDefinition> batch = new ArrayList<>();
+            for (BeanDefinition bean : remaining) {
+                if (done.containsAll(blockers.get(bean))) {
+                    batch.add(bean);
+                }
+            }
+            if (batch.isEmpty()) {
+                // 循环依赖，按顺序逐个执行
+                batch.add(remaining.get(0));
+            }
+            if (!runBatch(batch, action, executor, timeoutNanos)) {
+                return;
+            }
+            done.addAll(batch);
+            remaining.removeAll(batch);
+        }
+    }
+
+    /**
+     * 执行一批互不依赖的回调
+     *
+     * @return 被中断时返回false
+     */
+    private static boolean runBatch(List<BeanDefinition> batch, Consumer<BeanDefinition> action, ExecutorService executor,
+                                    long timeoutNanos) {
+        if (null == executor || (batch.size() == 1 && timeoutNanos <= 0)) {
+            for (BeanDefinition bean : batch) {
+                action.accept(bean);
+            }
+            return true;
+        }
+        List<Future<?>> futures = new ArrayList<>(batch.size());
+        for (BeanDefinition bean : batch) {
+            futures.add(executor.submit(() -> action.accept(bean)));
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<?> future = futures.get(i);
+            String beanName = batch.get(i).getBeanName();
+            try {
+                if (timeoutNanos > 0) {
+                    // 同一批并行执行，每个单例最多等待timeoutNanos
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } else {
+                    future.get();
+                }
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("lifecycle callback timeout, bean:{}, timeout:{}ms", beanName, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+            } catch (ExecutionException e) {
+                log.error("lifecycle callback failed, bean:{}, 错误信息:{}", beanName, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("lifecycle callback interrupted, bean:{}", beanName);
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.zc.support;
+
+/**
+ * 方法拦截器，环绕执行被拦截的方法
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface MethodInterceptor {
+
+    /**
+     * 调用invocation.proceed()执行下一个拦截器或目标方法
+     * invocation只在本次调用期间有效，需要在其它线程继续执行时使用invocation.copy()
+     *
+     * @param invocation
+     * @return
+     * @throws Throwable
+     */
+    Object invoke(MethodInvocation invocation) throws Throwable;
+}
@@ -0,0 +1,123 @@
+package com.zc.support;
+
+import org.springframework.cglib.proxy.MethodProxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * 一次被拦截的方法调用
+ * 调用上下文按线程和调用深度复用，调用返回后会被下一次调用覆盖，不要在调用结束后继续持有
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public final class MethodInvocation {
+
+    private static final ThreadLocal<Frames> FRAMES = ThreadLocal.withInitial(Frames::new);
+
+    private InterceptorChain chain;
+
+    private Object target;
+
+    private Object[] arguments;
+
+    private MethodProxy methodProxy;
+
+    /**
+     * 下一个执行的拦截器
+     */
+    private int index;
+
+    private MethodInvocation() {
+    }
+
+    /**
+     * 取得当前线程当前调用深度的上下文
+     */
+    static MethodInvocation acquire(InterceptorChain chain, Object target, Object[] arguments, MethodProxy methodProxy) {
+        Frames frames = FRAMES.get();
+        if (frames.depth == frames.invocations.length) {
+            MethodInvocation[] invocations = new MethodInvocation[frames.depth * 2];
+            System.arraycopy(frames.invocations, 0, invocations, 0, frames.depth);
+            frames.invocations = invocations;
+        }
+        MethodInvocation invocation = frames.invocations[frames.depth];
+        if (null == invocation) {
+            invocation = new MethodInvocation();
+            frames.invocations[frames.depth] = invocation;
+        }
+        frames.depth++;
+        invocation.chain = chain;
+        invocation.target = target;
+        invocation.arguments = arguments;
+        invocation.methodProxy = methodProxy;
+        invocation.index = 0;
+        return invocation;
+    }
+
+    /**
+     * 释放上下文，清空引用避免线程持有bean和插件的类
+     */
+    static void release(MethodInvocation invocation) {
+        invocation.chain = null;
+        invocation.target = null;
+        invocation.arguments = null;
+        invocation.methodProxy = null;
+        FRAMES.get().depth--;
+    }
+
+    public Method getMethod() {
+        return chain.getMethod();
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    public Object getTarget() {
+        return target;
+    }
+
+    /**
+     * 执行下一个拦截器，没有时执行目标方法；同一个拦截器可以多次调用，例如重试
+     *
+     * @return
+     * @throws Throwable
+     */
+    public Object proceed() throws Throwable {
+        MethodInterceptor[] interceptors = chain.getInterceptors();
+        int current = index;
+        if (current == interceptors.length) {
+            return methodProxy.invoke(target, arguments);
+        }
+        index = current + 1;
+        try {
+            return interceptors[current].invoke(this);
+        } finally {
+            index = current;
+        }
+    }
+
+    /**
+     * 复制一个独立的上下文，可以在调用返回后或其它线程中继续执行剩余的拦截器和目标方法
+     *
+     * @return
+     */
+    public MethodInvocation copy() {
+        MethodInvocation copy = new MethodInvocation();
+        copy.chain = chain;
+        copy.target = target;
+        copy.arguments = null == arguments ? null : arguments.clone();
+        copy.methodProxy = methodProxy;
+        copy.index = index;
+        return copy;
+    }
+
+    private static class Frames {
+
+        private MethodInvocation[] invocations = new MethodInvocation[4];
+
+        private int depth;
+    }
+}
@@ -0,0 +1,16 @@
+package com.zc.support;
+
+/**
+ * 编程式绑定模块，不经过类扫描直接向容器注册bean
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface Module {
+    /**
+     * 声明绑定
+     * @param binder
+     */
+    void configure(Binder binder);
+}
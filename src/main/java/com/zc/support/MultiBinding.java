@@ -0,0 +1,104 @@
+package com.zc.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 一个类型的所有实现：注入List、Set和Map时使用
+ * 成员按注册顺序排列（父容器在前），Map的key是bean名称
+ * 成员全部是单例时，生成的不可变集合会被缓存，之后注入不再访问容器
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class MultiBinding {
+
+    private final BeanDefinition[] members;
+
+    /**
+     * 成员是否全部是单例（软引用单例会被回收，不算）
+     */
+    private final boolean singletonOnly;
+
+    private volatile List<Object> list;
+
+    private volatile Set<Object> set;
+
+    private volatile Map<String, Object> map;
+
+    MultiBinding(List<BeanDefinition> members) {
+        this.members = members.toArray(new BeanDefinition[0]);
+        boolean singletonOnly = true;
+        for (BeanDefinition member : members) {
+            if (!Scope.SCOPE_SINGLETON.equals(member.getScope())) {
+                singletonOnly = false;
+                break;
+            }
+        }
+        this.singletonOnly = singletonOnly;
+    }
+
+    public int size() {
+        return members.length;
+    }
+
+    /**
+     * 第一个成员，按类型获取接口的bean时使用
+     *
+     * @return
+     */
+    public BeanDefinition first() {
+        return members.length == 0 ? null : members[0];
+    }
+
+    public List<Object> getList(DefaultFactory factory) {
+        List<Object> list = this.list;
+        if (null != list) {
+            return list;
+        }
+        List<Object> beans = new ArrayList<>(members.length);
+        for (BeanDefinition member : members) {
+            beans.add(factory.getBean(member.getBeanName()));
+        }
+        list = Collections.unmodifiableList(beans);
+        if (singletonOnly) {
+            this.list = list;
+        }
+        return list;
+    }
+
+    public Set<Object> getSet(DefaultFactory factory) {
+        Set<Object> set = this.set;
+        if (null != set) {
+            return set;
+        }
+        set = Collections.unmodifiableSet(new LinkedHashSet<>(this.getList(factory)));
+        if (singletonOnly) {
+            this.set = set;
+        }
+        return set;
+    }
+
+    public Map<String, Object> getMap(DefaultFactory factory) {
+        Map<String, Object> map = this.map;
+        if (null != map) {
+            return map;
+        }
+        List<Object> beans = this.getList(factory);
+        Map<String, Object> beanMap = new LinkedHashMap<>(members.length * 2);
+        for (int i = 0; i < members.length; i++) {
+            beanMap.put(members[i].getBeanName(), beans.get(i));
+        }
+        map = Collections.unmodifiableMap(beanMap);
+        if (singletonOnly) {
+            this.map = map;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,253 @@
+package com.zc.support;
+
+import com.zc.annotation.Named;
+import com.zc.annotation.Qualifier;
+import com.zc.annotation.Singleton;
+import com.zc.annotation.SoftSingleton;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 按需启动的包：按bean名称和类型索引包的元数据，获取不到bean时启动声明了该bean的包
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+public class OnDemandModules {
+
+    private final List<PackageModule> modules;
+
+    /**
+     * key：bean名称
+     */
+    private final Map<String, PackageModule> beanNameIndex = new HashMap<>(64);
+
+    /**
+     * key：类名、所有父类名和实现的所有接口名（包括间接的）
+     */
+    private final Map<String, List<PackageModule>> typeNameIndex = new HashMap<>(64);
+
+    /**
+     * 包中声明的限定注解，启动时加载，注入点在包启动前就需要识别
+     */
+    private final List<Class<?>> qualifiers;
+
+    /**
+     * 扫描、注册并创建包中的bean
+     */
+    private final Consumer<PackageModule> activator;
+
+    private OnDemandModules(List<PackageModule> modules, List<Class<?>> qualifiers, Consumer<PackageModule> activator) {
+        this.modules = modules;
+        this.qualifiers = qualifiers;
+        this.activator = activator;
+        for (PackageModule module : modules) {
+            for (String beanName : module.getBeanNames()) {
+                beanNameIndex.putIfAbsent(beanName, module);
+            }
+            for (String typeName : module.getTypeNames()) {
+                typeNameIndex.computeIfAbsent(typeName, key -> new ArrayList<>(2)).add(module);
+            }
+        }
+    }
+
+    /**
+     * 读取扫描器中每个包的元数据，不加载类（限定注解除外）
+     *
+     * @param fileScanner
+     * @param activator
+     * @return
+     */
+    public static OnDemandModules scan(FileScanner fileScanner, Consumer<PackageModule> activator) {
+        // 和扫描器共用元数据缓存，包启动时判断条件不再解析class文件
+        MetadataReaderFactory metadataReaderFactory = fileScanner.getMetadataReaderFactory();
+        Map<String, List<MetadataReader>> readers = new LinkedHashMap<>();
+        List<Class<?>> qualifiers = new ArrayList<>();
+        for (String packageName : fileScanner.getPackageNames()) {
+            List<MetadataReader> packageReaders = new ArrayList<>();
+            for (String className : fileScanner.getClassNames(packageName)) {
+                try {
+                    MetadataReader reader = metadataReaderFactory.getMetadataReader(className);
+                    packageReaders.add(reader);
+                    if (reader.getClassMetadata().isAnnotation() && reader.getAnnotationMetadata().hasAnnotation(Qualifier.class.getName())) {
+                        qualifiers.add(fileScanner.getClassLoader().loadClass(className));
+                    }
+                } catch (IOException | ClassNotFoundException e) {
+                    log.error("读取类信息失败:{}, 错误信息:{}", className, e.getMessage());
+                }
+            }
+            readers.put(packageName, packageReaders);
+        }
+        List<PackageModule> modules = new ArrayList<>(readers.size());
+        Map<String, Set<String>> superTypeNames = new HashMap<>(64);
+        for (Map.Entry<String, List<MetadataReader>> entry : readers.entrySet()) {
+            modules.add(toModule(entry.getKey(), entry.getValue(), metadataReaderFactory, superTypeNames));
+        }
+        return new OnDemandModules(modules, qualifiers, activator);
+    }
+
+    private static PackageModule toModule(String packageName, List<MetadataReader> readers, MetadataReaderFactory metadataReaderFactory,
+                                          Map<String, Set<String>> superTypeNames) {
+        List<String> classNames = new ArrayList<>(readers.size());
+        Set<String> beanNames = new LinkedHashSet<>();
+        Set<String> typeNames = new LinkedHashSet<>();
+        for (MetadataReader reader : readers) {
+            ClassMetadata classMetadata = reader.getClassMetadata();
+            AnnotationMetadata annotationMetadata = reader.getAnnotationMetadata();
+            String className = classMetadata.getClassName();
+            classNames.add(className);
+            typeNames.add(className);
+            typeNames.addAll(getSuperTypeNames(classMetadata, metadataReaderFactory, superTypeNames));
+            if (isBeanCandidate(annotationMetadata)) {
+                beanNames.add(getBeanName(className, annotationMetadata));
+            }
+        }
+        return new PackageModule(packageName, classNames, beanNames, typeNames);
+    }
+
+    /**
+     * 沿父类和接口向上读取元数据，收集所有父类型的名称，不加载类；读不到元数据的类型只记录名称
+     *
+     * @param classMetadata
+     * @param metadataReaderFactory
+     * @param cache                 key：类名 value：它的所有父类型，多个包共用
+     * @return
+     */
+    private static Set<String> getSuperTypeNames(ClassMetadata classMetadata, MetadataReaderFactory metadataReaderFactory,
+                                                 Map<String, Set<String>> cache) {
+        Set<String> superTypeNames = cache.get(classMetadata.getClassName());
+        if (null != superTypeNames) {
+            return superTypeNames;
+        }
+        superTypeNames = new LinkedHashSet<>();
+        List<String> directNames = new ArrayList<>(Arrays.asList(classMetadata.getInterfaceNames()));
+        if (classMetadata.hasSuperClass() && !Object.class.getName().equals(classMetadata.getSuperClassName())) {
+            directNames.add(0, classMetadata.getSuperClassName());
+        }
+        for (String directName : directNames) {
+            superTypeNames.add(directName);
+            try {
+                ClassMetadata superMetadata = metadataReaderFactory.getMetadataReader(directName).getClassMetadata();
+                superTypeNames.addAll(getSuperTypeNames(superMetadata, metadataReaderFactory, cache));
+            } catch (IOException e) {
+                log.debug("读取父类型信息失败:{}, 错误信息:{}", directName, e.getMessage());
+            }
+        }
+        cache.put(classMetadata.getClassName(), superTypeNames);
+        return superTypeNames;
+    }
+
+    /**
+     * 与扫描时的判断一致：带有@Named、@Singleton、@SoftSingleton或限定注解的类
+     *
+     * @param annotationMetadata
+     * @return
+     */
+    private static boolean isBeanCandidate(AnnotationMetadata annotationMetadata) {
+        return annotationMetadata.hasAnnotation(Named.class.getName())
+                || annotationMetadata.hasAnnotation(Singleton.class.getName())
+                || annotationMetadata.hasAnnotation(SoftSingleton.class.getName())
+                || annotationMetadata.hasMetaAnnotation(Qualifier.class.getName());
+    }
+
+    private static String getBeanName(String className, AnnotationMetadata annotationMetadata) {
+        Map<String, Object> named = annotationMetadata.getAnnotationAttributes(Named.class.getName());
+        if (null != named && !StringUtils.isEmpty((String) named.get("value"))) {
+            return (String) named.get("value");
+        }
+        String simpleName = className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+        return simpleName.substring(0, 1).toLowerCase() + simpleName.substring(1);
+    }
+
+    /**
+     * 启动声明了该bean名称的包
+     *
+     * @param beanName
+     * @return 是否有包声明了该名称，有的话需要重新查找
+     */
+    public boolean activateByName(String beanName) {
+        PackageModule module = beanNameIndex.get(beanName);
+        return null != module && !module.isActive() && this.activate(module);
+    }
+
+    /**
+     * 启动声明了该类型（类本身、父类或接口）的包
+     *
+     * @param type
+     * @return 是否有包声明了该类型，有的话需要重新查找
+     */
+    public boolean activateByType(Class<?> type) {
+        List<PackageModule> declaringModules = typeNameIndex.get(type.getName());
+        if (null == declaringModules) {
+            return false;
+        }
+        boolean activated = false;
+        for (PackageModule module : declaringModules) {
+            if (!module.isActive()) {
+                activated |= this.activate(module);
+            }
+        }
+        return activated;
+    }
+
+    /**
+     * 启动包，同一时间只启动一个包，其它线程等待启动完成后再查找
+     * 已启动完成的包不再进入这里，启动中的包被同一线程再次查找时直接返回
+     *
+     * @param module
+     * @return
+     */
+    private synchronized boolean activate(PackageModule module) {
+        if (!module.markStarted()) {
+            return true;
+        }
+        long start = System.nanoTime();
+        activator.accept(module);
+        long cost = System.nanoTime() - start;
+        module.markActive(cost);
+        log.info("activate module:{}, beans:{}, cost:{}ms", module.getPackageName(), module.getBeanNames().size(), TimeUnit.NANOSECONDS.toMillis(cost));
+        return true;
+    }
+
+    public List<Class<?>> getQualifiers() {
+        return qualifiers;
+    }
+
+    public List<PackageModule> getModules() {
+        return Collections.unmodifiableList(modules);
+    }
+
+    /**
+     * 已启动的包的启动耗时
+     *
+     * @return key：包名 value：启动耗时（毫秒）
+     */
+    public Map<String, Long> getActivationTimes() {
+        Map<String, Long> activationTimes = new LinkedHashMap<>();
+        for (PackageModule module : modules) {
+            if (module.getActivationNanos() >= 0) {
+                activationTimes.put(module.getPackageName(), TimeUnit.NANOSECONDS.toMillis(module.getActivationNanos()));
+            }
+        }
+        return activationTimes;
+    }
+}
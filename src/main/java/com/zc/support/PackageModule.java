@@ -0,0 +1,80 @@
+package com.zc.support;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 按需启动的包：启动时只登记从class文件读取的元数据，第一次获取其中的bean时才扫描、注册并创建单例
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+public class PackageModule {
+
+    private final String packageName;
+
+    /**
+     * 包中的类名
+     */
+    private final List<String> classNames;
+
+    /**
+     * 包中会被容器管理的bean名称
+     */
+    private final Set<String> beanNames;
+
+    /**
+     * 包中的类、直接父类和直接实现的接口
+     */
+    private final Set<String> typeNames;
+
+    /**
+     * 是否已开始启动
+     */
+    private boolean started;
+
+    /**
+     * 是否已启动完成
+     */
+    private volatile boolean active;
+
+    /**
+     * 启动耗时（纳秒），未启动时为-1
+     */
+    private volatile long activationNanos = -1;
+
+    PackageModule(String packageName, List<String> classNames, Set<String> beanNames, Set<String> typeNames) {
+        this.packageName = packageName;
+        this.classNames = Collections.unmodifiableList(classNames);
+        this.beanNames = Collections.unmodifiableSet(beanNames);
+        this.typeNames = Collections.unmodifiableSet(typeNames);
+    }
+
+    /**
+     * 标记为开始启动，已经开始过返回false
+     *
+     * @return
+     */
+    synchronized boolean markStarted() {
+        if (started) {
+            return false;
+        }
+        started = true;
+        return true;
+    }
+
+    /**
+     * 启动完成
+     *
+     * @param activationNanos
+     */
+    void markActive(long activationNanos) {
+        this.activationNanos = activationNanos;
+        this.active = true;
+    }
+}
@@ -0,0 +1,55 @@
+package com.zc.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URLClassLoader;
+
+/**
+ * 插件容器，持有插件的类加载器和对应的子容器
+ * 关闭后子容器中所有以Class为key的缓存都会清空，插件的类加载器不再被容器引用
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+public class PluginContext implements Closeable {
+
+    private ApplicationContext context;
+
+    private URLClassLoader classLoader;
+
+    PluginContext(ApplicationContext context, URLClassLoader classLoader) {
+        this.context = context;
+        this.classLoader = classLoader;
+    }
+
+    public ApplicationContext getContext() {
+        if (null == context) {
+            throw new IllegalStateException("plugin has been closed");
+        }
+        return context;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (null == context) {
+            return;
+        }
+        context.close();
+        context.release();
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            log.error("关闭插件类加载器失败, 错误信息:{}", e.getMessage());
+        }
+        context = null;
+        classLoader = null;
+    }
+}
@@ -0,0 +1,343 @@
+package com.zc.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 配置来源：系统属性、环境变量、配置文件，按这个顺序查找，前面的优先
+ * 系统属性和环境变量在容器创建时读取一次；环境变量同时按大写下划线的形式查找，例如server.port对应SERVER_PORT
+ * 配置文件默认读取类路径下的application.properties（不存在时忽略），多个配置文件中后面的覆盖前面的
+ * 配置文件的内容和系统属性、环境变量合并到不可变的快照中，重新读取某个文件时生成新快照整体替换，读取配置只需要一次volatile读和一次哈希查找
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+public final class PropertySources {
+
+    public static final String DEFAULT_LOCATION = "classpath:application.properties";
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private static final String PLACEHOLDER_PREFIX = "${";
+
+    private static final String PLACEHOLDER_SUFFIX = "}";
+
+    private final ClassLoader classLoader;
+
+    private final Map<String, String> systemProperties;
+
+    private final Map<String, String> environment;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 配置文件变化后的回调
+     */
+    private final List<Consumer<ConfigChangedEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private PropertySources(ClassLoader classLoader, Map<String, String> systemProperties, Map<String, String> environment, Snapshot snapshot) {
+        this.classLoader = classLoader;
+        this.systemProperties = systemProperties;
+        this.environment = environment;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * 读取配置
+     *
+     * @param classLoader 读取类路径下的配置文件
+     * @param locations   配置文件，classpath:开头的从类路径读取，其余按文件路径读取，不存在时报错
+     * @return
+     */
+    public static PropertySources load(ClassLoader classLoader, List<String> locations) {
+        Map<String, Map<String, String>> files = new LinkedHashMap<>();
+        URL defaultResource = classLoader.getResource(DEFAULT_LOCATION.substring(CLASSPATH_PREFIX.length()));
+        if (null != defaultResource && !locations.contains(DEFAULT_LOCATION)) {
+            files.put(DEFAULT_LOCATION, readProperties(classLoader, DEFAULT_LOCATION));
+        }
+        for (String location : locations) {
+            files.put(location, readProperties(classLoader, location));
+        }
+        Map<String, String> systemProperties = snapshot(System.getProperties());
+        Map<String, String> environment = System.getenv();
+        return new PropertySources(classLoader, systemProperties, environment, new Snapshot(files, systemProperties, environment, 0));
+    }
+
+    static Map<String, String> readProperties(ClassLoader classLoader, String location) {
+        Properties properties = new Properties();
+        try (InputStream inputStream = open(classLoader, location);
+             Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("can not read property file:" + location, e);
+        }
+        return snapshot(properties);
+    }
+
+    private static InputStream open(ClassLoader classLoader, String location) throws IOException {
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            InputStream inputStream = classLoader.getResourceAsStream(location.substring(CLASSPATH_PREFIX.length()));
+            if (null == inputStream) {
+                throw new IOException("resource not found");
+            }
+            return inputStream;
+        }
+        return Files.newInputStream(Paths.get(location));
+    }
+
+    private static Map<String, String> snapshot(Properties properties) {
+        Map<String, String> values = new HashMap<>(properties.size() * 2);
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * 获取配置项
+     *
+     * @param key
+     * @return 不存在时返回null
+     */
+    public String getProperty(String key) {
+        return this.getProperty(snapshot, key);
+    }
+
+    /**
+     * 从指定的快照获取配置项，同一次读取中的多个配置项来自同一个快照
+     *
+     * @param snapshot
+     * @param key
+     * @return
+     */
+    String getProperty(Snapshot snapshot, String key) {
+        String value = snapshot.properties.get(key);
+        if (null == value) {
+            // 配置文件中没有的配置项只能从环境变量中按大写下划线的形式查找
+            value = environment.get(toEnvironmentName(key));
+        }
+        return value;
+    }
+
+    private static String toEnvironmentName(String key) {
+        return key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+
+    Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * 配置文件对应的本地文件，类路径中打包在jar里的配置文件没有
+     *
+     * @return key：文件路径 value：配置文件
+     */
+    Map<Path, String> getLocalFiles() {
+        Map<Path, String> localFiles = new LinkedHashMap<>();
+        for (String location : snapshot.files.keySet()) {
+            try {
+                if (location.startsWith(CLASSPATH_PREFIX)) {
+                    URL url = classLoader.getResource(location.substring(CLASSPATH_PREFIX.length()));
+                    if (null != url && "file".equals(url.getProtocol())) {
+                        localFiles.put(Paths.get(url.toURI()).toAbsolutePath().normalize(), location);
+                    }
+                } else {
+                    localFiles.put(Paths.get(location).toAbsolutePath().normalize(), location);
+                }
+            } catch (URISyntaxException | RuntimeException e) {
+                log.warn("can not watch property file:{}, 错误信息:{}", location, e.getMessage());
+            }
+        }
+        return localFiles;
+    }
+
+    /**
+     * 重新读取一个配置文件，内容有变化时替换快照并通知，读取失败时保留原来的配置
+     *
+     * @param location
+     * @return 实际生效的值有变化的配置项
+     */
+    public synchronized Set<String> reload(String location) {
+        Snapshot current = snapshot;
+        if (!current.files.containsKey(location)) {
+            throw new IllegalArgumentException("unknown property file:" + location);
+        }
+        Map<String, String> properties;
+        try {
+            properties = readProperties(classLoader, location);
+        } catch (IllegalArgumentException e) {
+            log.warn("reload property file failed, keep current values:{}, 错误信息:{}", location, e.getMessage());
+            return Collections.emptySet();
+        }
+        if (properties.equals(current.files.get(location))) {
+            return Collections.emptySet();
+        }
+        Map<String, Map<String, String>> files = new LinkedHashMap<>(current.files);
+        files.put(location, properties);
+        Snapshot next = new Snapshot(files, systemProperties, environment, current.version + 1);
+        Set<String> changedKeys = new TreeSet<>();
+        Set<String> keys = new HashSet<>(current.properties.keySet());
+        keys.addAll(next.properties.keySet());
+        for (String key : keys) {
+            // 系统属性和环境变量已合并到快照中，被覆盖的配置项前后的值相同
+            if (!Objects.equals(current.properties.get(key), next.properties.get(key))) {
+                changedKeys.add(key);
+            }
+        }
+        snapshot = next;
+        log.info("property file reloaded:{}, changed keys:{}", location, changedKeys);
+        if (!changedKeys.isEmpty()) {
+            ConfigChangedEvent event = new ConfigChangedEvent(Collections.unmodifiableSet(changedKeys), next.version);
+            for (Consumer<ConfigChangedEvent> listener : listeners) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException e) {
+                    log.error("config change listener failed, 错误信息:{}", e.getMessage());
+                }
+            }
+        }
+        return changedKeys;
+    }
+
+    public void addListener(Consumer<ConfigChangedEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 替换文本中的${key:default}，默认值中也可以有占位符
+     *
+     * @param text
+     * @return
+     * @throws IllegalArgumentException 配置项不存在且没有默认值
+     */
+    public String resolvePlaceholders(String text) {
+        int start = text.indexOf(PLACEHOLDER_PREFIX);
+        if (start < 0) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        int position = 0;
+        while (start >= 0) {
+            int end = findPlaceholderEnd(text, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("unclosed placeholder:" + text);
+            }
+            builder.append(text, position, start);
+            builder.append(this.resolvePlaceholder(text.substring(start + PLACEHOLDER_PREFIX.length(), end)));
+            position = end + PLACEHOLDER_SUFFIX.length();
+            start = text.indexOf(PLACEHOLDER_PREFIX, position);
+        }
+        return builder.append(text, position, text.length()).toString();
+    }
+
+    private String resolvePlaceholder(String placeholder) {
+        int separator = placeholder.indexOf(':');
+        String key = separator < 0 ? placeholder : placeholder.substring(0, separator);
+        String value = this.getProperty(key.trim());
+        if (null != value) {
+            return value;
+        }
+        if (separator < 0) {
+            throw new IllegalArgumentException("property not found:" + key);
+        }
+        return this.resolvePlaceholders(placeholder.substring(separator + 1));
+    }
+
+    /**
+     * 配置的不可变快照
+     */
+    static final class Snapshot {
+
+        /**
+         * key：配置文件 value：文件中的配置，按读取顺序排列
+         */
+        private final Map<String, Map<String, String>> files;
+
+        /**
+         * 合并后的配置：后面的文件覆盖前面的，大写下划线形式的环境变量、环境变量、系统属性依次覆盖
+         */
+        private final Map<String, String> properties;
+
+        private final long version;
+
+        /**
+         * 按本快照转换好的绑定值，快照替换后随快照一起丢弃
+         */
+        private final Map<Object, Object> converted = new ConcurrentHashMap<>(16);
+
+        Snapshot(Map<String, Map<String, String>> files, Map<String, String> systemProperties, Map<String, String> environment, long version) {
+            Map<String, String> properties = new HashMap<>();
+            for (Map<String, String> fileProperties : files.values()) {
+                properties.putAll(fileProperties);
+            }
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                String value = environment.get(toEnvironmentName(entry.getKey()));
+                if (null != value) {
+                    entry.setValue(value);
+                }
+            }
+            properties.putAll(environment);
+            properties.putAll(systemProperties);
+            this.files = Collections.unmodifiableMap(files);
+            this.properties = properties;
+            this.version = version;
+        }
+
+        long getVersion() {
+            return version;
+        }
+
+        Object getConverted(Object key) {
+            return converted.get(key);
+        }
+
+        void putConverted(Object key, Object value) {
+            converted.put(key, value);
+        }
+    }
+
+    /**
+     * 和开始位置匹配的}，跳过嵌套的占位符
+     */
+    private static int findPlaceholderEnd(String text, int start) {
+        int depth = 0;
+        for (int i = start + PLACEHOLDER_PREFIX.length(); i < text.length(); i++) {
+            if (text.startsWith(PLACEHOLDER_PREFIX, i)) {
+                depth++;
+                i++;
+            } else if (text.charAt(i) == '}') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return -1;
+    }
+}
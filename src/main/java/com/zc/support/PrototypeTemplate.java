@@ -0,0 +1,135 @@
+package com.zc.support;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Provider;
+import com.zc.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.objenesis.Objenesis;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 多例模板：持有一个完整注入的模板实例和预先计算好的拷贝计划
+ * 新实例不执行构造方法，单例属性直接浅拷贝，多例属性重新注入
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+public class PrototypeTemplate {
+
+    /**
+     * 不使用全局缓存，实例化器由模板自己持有，避免插件卸载后类仍被缓存引用
+     */
+    private static final Objenesis OBJENESIS = new ObjenesisStd(false);
+
+    /**
+     * 可以在实例之间共享的Number，按类型精确匹配
+     */
+    private static final Set<Class<?>> IMMUTABLE_NUMBERS = new HashSet<>(Arrays.asList(Integer.class, Long.class,
+            Short.class, Byte.class, Double.class, Float.class, BigInteger.class, BigDecimal.class));
+
+    private final Object template;
+
+    private final ObjectInstantiator<?> instantiator;
+
+    /**
+     * 直接浅拷贝的属性
+     */
+    private final Field[] copyFields;
+
+    /**
+     * 需要重新注入的多例属性
+     */
+    private final Field[] reinjectFields;
+
+    private PrototypeTemplate(Object template, Field[] copyFields, Field[] reinjectFields) {
+        this.template = template;
+        this.instantiator = OBJENESIS.getInstantiatorOf(template.getClass());
+        this.copyFields = copyFields;
+        this.reinjectFields = reinjectFields;
+    }
+
+    /**
+     * 根据模板实例生成拷贝计划，存在无法安全共享的非注入属性时返回null
+     *
+     * @param factory
+     * @param template
+     * @return
+     */
+    public static PrototypeTemplate create(DefaultFactory factory, Object template) {
+        List<Field> copyFields = new ArrayList<>();
+        List<Field> reinjectFields = new ArrayList<>();
+        try {
+            for (Class<?> clazz = template.getClass(); null != clazz && !clazz.equals(Object.class); clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    Object value = field.get(template);
+                    if (isShareable(factory, field, value)) {
+                        copyFields.add(field);
+                    } else if (field.isAnnotationPresent(Inject.class) || field.isAnnotationPresent(Value.class)) {
+                        // @Value字段重新注入时只写入解析好的常量
+                        reinjectFields.add(field);
+                    } else {
+                        // 构造方法或普通方法注入的多例，以及自身的可变状态都不能共享
+                        log.warn("can not use template for class:{}, field:{} is not shareable", template.getClass().getName(), field.getName());
+                        return null;
+                    }
+                }
+            }
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return new PrototypeTemplate(template, copyFields.toArray(new Field[0]), reinjectFields.toArray(new Field[0]));
+    }
+
+    private static boolean isShareable(DefaultFactory factory, Field field, Object value) {
+        if (null == value || field.getType().isPrimitive() || value instanceof Provider) {
+            return true;
+        }
+        if (value instanceof Number) {
+            // 原子类、累加器以及BigInteger/BigDecimal的子类可能是可变的，只共享确定不可变的类型
+            return IMMUTABLE_NUMBERS.contains(value.getClass());
+        }
+        if (value instanceof String || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            return true;
+        }
+        return factory.isSingletonInstance(value);
+    }
+
+    /**
+     * 创建新实例
+     *
+     * @param factory
+     * @return
+     */
+    public Object newInstance(DefaultFactory factory) {
+        Object instance = instantiator.newInstance();
+        try {
+            for (Field field : copyFields) {
+                field.set(instance, field.get(template));
+            }
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+        }
+        for (Field field : reinjectFields) {
+            factory.injectField(field, instance);
+        }
+        return instance;
+    }
+}
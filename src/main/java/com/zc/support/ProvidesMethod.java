@@ -0,0 +1,160 @@
+package com.zc.support;
+
+import com.zc.annotation.Provider;
+import com.zc.exception.BeanCreationException;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.function.Supplier;
+
+/**
+ * {@link com.zc.annotation.Provides}方法对应的supplier
+ * 方法句柄和参数信息在注册时解析一次；单例和Provider参数第一次解析后缓存，之后只解析多例参数
+ * 配置类在第一次调用实例方法时才创建，延迟模式下没有用到的配置类不会实例化
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class ProvidesMethod implements Supplier<Object> {
+
+    private final DefaultFactory factory;
+
+    private final Method method;
+
+    /**
+     * 展开参数数组的方法句柄，类型为(Object, Object[])Object，第一个参数是配置类实例，静态方法忽略该参数
+     */
+    private final MethodHandle handle;
+
+    /**
+     * 配置类实例，静态方法为null；同一个配置类的方法共用，第一次调用实例方法时创建
+     */
+    private final Supplier<Object> configuration;
+
+    private final Class<?>[] parameterTypes;
+
+    private final Type[] genericParameterTypes;
+
+    private final Annotation[][] parameterAnnotations;
+
+    /**
+     * 已缓存的参数（单例或Provider），为null的位置每次调用重新解析
+     */
+    private volatile Object[] cachedArguments;
+
+    public ProvidesMethod(DefaultFactory factory, Method method, Supplier<Object> configuration) {
+        if (void.class.equals(method.getReturnType())) {
+            throw new IllegalArgumentException("@Provides method must return a value, method:" + method);
+        }
+        this.factory = factory;
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.genericParameterTypes = method.getGenericParameterTypes();
+        this.parameterAnnotations = method.getParameterAnnotations();
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        this.configuration = isStatic ? null : configuration;
+        try {
+            method.setAccessible(true);
+            MethodHandle methodHandle = MethodHandles.lookup().unreflect(method);
+            methodHandle = methodHandle.asType(methodHandle.type().generic());
+            methodHandle = methodHandle.asSpreader(Object[].class, parameterTypes.length);
+            if (isStatic) {
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+            }
+            this.handle = methodHandle;
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException("can not access @Provides method:" + method, e);
+        }
+    }
+
+    /**
+     * 配置类实例的延迟创建，只创建一次
+     *
+     * @param factory
+     * @param configurationClass
+     * @return
+     */
+    public static Supplier<Object> configuration(DefaultFactory factory, Class<?> configurationClass) {
+        return new Supplier<Object>() {
+
+            private volatile Object instance;
+
+            @Override
+            public Object get() {
+                Object instance = this.instance;
+                if (null == instance) {
+                    synchronized (this) {
+                        instance = this.instance;
+                        if (null == instance) {
+                            instance = factory.constructBean(configurationClass);
+                            if (null == instance) {
+                                throw new BeanCreationException("can not create configuration:" + configurationClass.getName());
+                            }
+                            this.instance = instance;
+                        }
+                    }
+                }
+                return instance;
+            }
+        };
+    }
+
+    @Override
+    public Object get() {
+        Object target = null == configuration ? null : configuration.get();
+        Object[] arguments = this.resolveArguments();
+        try {
+            return (Object) handle.invokeExact(target, arguments);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BeanCreationException("invoke @Provides method failed, method:" + method, e);
+        }
+    }
+
+    /**
+     * Provider和没有限定注解的单例参数可以缓存
+     *
+     * @param index
+     * @param argument
+     * @return
+     */
+    private boolean isCacheable(int index, Object argument) {
+        if (argument instanceof Provider) {
+            return true;
+        }
+        if (parameterAnnotations[index].length > 0) {
+            return false;
+        }
+        BeanDefinition beanDefinition = factory.getBeanDefinition(parameterTypes[index]);
+        return null != beanDefinition && Scope.SCOPE_SINGLETON.equals(beanDefinition.getScope());
+    }
+
+    private Object[] resolveArguments() {
+        Object[] cached = cachedArguments;
+        Object[] arguments = new Object[parameterTypes.length];
+        boolean firstCall = null == cached;
+        if (firstCall) {
+            cached = new Object[parameterTypes.length];
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (null != cached[i]) {
+                arguments[i] = cached[i];
+                continue;
+            }
+            arguments[i] = factory.resolveDependency(parameterTypes[i], genericParameterTypes[i], parameterAnnotations[i]);
+            if (firstCall && null != arguments[i] && this.isCacheable(i, arguments[i])) {
+                cached[i] = arguments[i];
+            }
+        }
+        if (firstCall) {
+            cachedArguments = cached;
+        }
+        return arguments;
+    }
+}
@@ -0,0 +1,193 @@
+package com.zc.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 限定注解索引的key：(注入类型, 规范化后的限定注解)
+ * 没有属性的限定注解规范化为注解类型本身，有属性的规范化为注解类型和属性值组成的列表，
+ * 比较时不会调用注解代理对象的equals和hashCode
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+final class QualifierKey {
+
+    /**
+     * 注解类型的属性方法，按名称排序；使用ClassValue，插件卸载后不会持有插件中的注解类型
+     */
+    private static final ClassValue<Method[]> ATTRIBUTES = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(Class<?> annotationType) {
+            return attributesOf(annotationType);
+        }
+    };
+
+    private final Class<?> type;
+
+    private final Object qualifier;
+
+    private final int hash;
+
+    private QualifierKey(Class<?> type, Object qualifier) {
+        this.type = type;
+        this.qualifier = qualifier;
+        this.hash = 31 * type.hashCode() + qualifier.hashCode();
+    }
+
+    /**
+     * 只按注解类型匹配，Module中用annotatedWith(Class)绑定时使用
+     *
+     * @param type
+     * @param qualifierType
+     * @return
+     */
+    static QualifierKey of(Class<?> type, Class<? extends Annotation> qualifierType) {
+        return new QualifierKey(type, qualifierType);
+    }
+
+    /**
+     * 按注解实例匹配，有属性的注解属性值也要相同
+     *
+     * @param type
+     * @param qualifier
+     * @return
+     */
+    static QualifierKey of(Class<?> type, Annotation qualifier) {
+        return new QualifierKey(type, normalize(qualifier));
+    }
+
+    /**
+     * 按注解实例匹配，规范化结果从缓存中取，缓存中没有时再反射读取属性
+     *
+     * @param type
+     * @param qualifier
+     * @param normalized 以注解实例的引用为key的缓存
+     * @return
+     */
+    static QualifierKey of(Class<?> type, Annotation qualifier, Map<AnnotationReference, Object> normalized) {
+        AnnotationReference reference = new AnnotationReference(qualifier);
+        Object value = normalized.get(reference);
+        if (null == value) {
+            value = normalize(qualifier);
+            normalized.put(reference, value);
+        }
+        return new QualifierKey(type, value);
+    }
+
+    /**
+     * 相同限定注解，换成另一个注入类型
+     *
+     * @param type
+     * @return
+     */
+    QualifierKey withType(Class<?> type) {
+        return this.type == type ? this : new QualifierKey(type, qualifier);
+    }
+
+    /**
+     * 是否是只按注解类型比较的key
+     *
+     * @return
+     */
+    boolean isTypeOnly() {
+        return qualifier instanceof Class;
+    }
+
+    private static Object normalize(Annotation annotation) {
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        Method[] attributes = ATTRIBUTES.get(annotationType);
+        if (attributes.length == 0) {
+            return annotationType;
+        }
+        List<Object> values = new ArrayList<>(attributes.length + 1);
+        values.add(annotationType);
+        try {
+            for (Method attribute : attributes) {
+                values.add(normalizeValue(attribute.invoke(annotation)));
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("can not read qualifier:" + annotationType.getName(), e);
+        }
+        return values;
+    }
+
+    private static Object normalizeValue(Object value) {
+        if (value instanceof Annotation) {
+            // 嵌套的注解同样规范化，不使用代理对象的equals
+            return normalize((Annotation) value);
+        }
+        if (null == value || !value.getClass().isArray()) {
+            return value;
+        }
+        // 数组按元素比较
+        int length = Array.getLength(value);
+        List<Object> elements = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            Object element = Array.get(value, i);
+            elements.add(normalizeValue(element));
+        }
+        return elements;
+    }
+
+    private static Method[] attributesOf(Class<?> annotationType) {
+        Method[] methods = annotationType.getDeclaredMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+        for (Method method : methods) {
+            method.setAccessible(true);
+        }
+        return methods;
+    }
+
+    /**
+     * 按引用比较的注解实例；字段、参数上的注解实例由JDK缓存，同一个注入点每次拿到的是同一个实例
+     */
+    static final class AnnotationReference {
+
+        private final Annotation annotation;
+
+        AnnotationReference(Annotation annotation) {
+            this.annotation = annotation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof AnnotationReference && ((AnnotationReference) o).annotation == annotation;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(annotation);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QualifierKey)) {
+            return false;
+        }
+        QualifierKey that = (QualifierKey) o;
+        return hash == that.hash && type == that.type && qualifier.equals(that.qualifier);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "QualifierKey(type=" + type.getName() + ", qualifier=" + qualifier + ")";
+    }
+}
@@ -0,0 +1,21 @@
+package com.zc.support;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 类扫描方式
+ */
+public enum ScanMode {
+    /**
+     * 先扫描默认路径下的{@link com.zc.annotation.PackageConfiguration}，再扫描配置的包和指定的包
+     */
+    CONFIGURATION,
+    /**
+     * 只扫描指定的包，没有指定则扫描默认路径
+     */
+    PACKAGES,
+    /**
+     * 不扫描，bean全部手动注册
+     */
+    NONE
+}
@@ -13,7 +13,11 @@ public enum Scope {
     /**
      * 多例
      */
-    SCOPE_PROTOTYPE("prototype");
+    SCOPE_PROTOTYPE("prototype"),
+    /**
+     * 软引用单例，可被回收后重建
+     */
+    SCOPE_SOFT_SINGLETON("softSingleton");
 
     Scope(String value) {
     }
@@ -0,0 +1,159 @@
+package com.zc.support;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 软引用单例缓存
+ * 实例只通过软引用持有，GC可以在内存紧张时回收；同时按权重预算做LRU淘汰
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class SoftSingletonCache {
+
+    /**
+     * 被GC回收的引用会进入该队列
+     */
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    /**
+     * 按访问顺序排列，头部是最久未使用的bean
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 创建过的bean名称，再次创建时记为重建
+     */
+    private final Set<String> builtNames = new HashSet<>();
+
+    /**
+     * 淘汰次数（预算淘汰+GC回收）
+     */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * 重建次数
+     */
+    private final AtomicLong rebuildCount = new AtomicLong();
+
+    /**
+     * 权重预算，默认不限制
+     */
+    private long budget = Long.MAX_VALUE;
+
+    /**
+     * 当前已使用的权重
+     */
+    private long used;
+
+    /**
+     * 获取缓存的实例，已被回收或淘汰则返回null
+     *
+     * @param beanName
+     * @return
+     */
+    public synchronized Object get(String beanName) {
+        expungeCollected();
+        Entry entry = entries.get(beanName);
+        if (null == entry) {
+            return null;
+        }
+        Object bean = entry.get();
+        if (null == bean) {
+            // 已被回收但还未进入队列
+            this.remove(beanName, entry);
+        }
+        return bean;
+    }
+
+    /**
+     * 放入实例，超出预算时淘汰最久未使用的实例
+     *
+     * @param beanName
+     * @param bean
+     * @param weight
+     */
+    public synchronized void put(String beanName, Object bean, int weight) {
+        expungeCollected();
+        if (!builtNames.add(beanName)) {
+            rebuildCount.incrementAndGet();
+        }
+        Entry old = entries.put(beanName, new Entry(beanName, bean, weight, queue));
+        if (null != old) {
+            used -= old.weight;
+        }
+        used += weight;
+        this.evictOverBudget(beanName);
+    }
+
+    public synchronized void setBudget(long budget) {
+        this.budget = budget;
+        this.evictOverBudget(null);
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    private void evictOverBudget(String keep) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (used > budget && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getKey().equals(keep)) {
+                // 刚放入的实例不淘汰，避免单个实例超出预算时反复重建
+                continue;
+            }
+            iterator.remove();
+            eldest.getValue().clear();
+            used -= eldest.getValue().weight;
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private void expungeCollected() {
+        Reference<?> reference;
+        while (null != (reference = queue.poll())) {
+            Entry entry = (Entry) reference;
+            this.remove(entry.beanName, entry);
+        }
+    }
+
+    private void remove(String beanName, Entry entry) {
+        // 只有当前映射仍是该引用时才移除，避免误删重建后的实例
+        if (entries.get(beanName) == entry) {
+            entries.remove(beanName);
+            used -= entry.weight;
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private static class Entry extends SoftReference<Object> {
+
+        private final String beanName;
+
+        private final int weight;
+
+        Entry(String beanName, Object bean, int weight, ReferenceQueue<Object> queue) {
+            super(bean, queue);
+            this.beanName = beanName;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.zc.support;
+
+import com.zc.annotation.Scheduled;
+import com.zc.exception.BeanCreationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 容器的定时任务：所有@Scheduled方法共用一个时间轮，到期后提交到方法指定的执行器中执行
+ * 容器关闭时先取消所有任务并停止时间轮，正在执行的任务由执行器关闭时等待
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Slf4j
+final class TaskScheduler {
+
+    private static final MethodType TASK_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /**
+     * 类中的定时方法，挂在Class上缓存
+     */
+    private static final ClassValue<Method[]> SCHEDULED_METHODS = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            List<Method> methods = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                if (method.isAnnotationPresent(Scheduled.class) && !method.isBridge()) {
+                    methods.add(method);
+                }
+            }
+            return methods.toArray(new Method[0]);
+        }
+    };
+
+    private final HashedWheelTimer timer = new HashedWheelTimer("zc-scheduler", 10, TimeUnit.MILLISECONDS, 512);
+
+    private final List<ScheduledTask> tasks = new CopyOnWriteArrayList<>();
+
+    private volatile boolean shutdown;
+
+    static boolean hasScheduledMethods(Class<?> clazz) {
+        return SCHEDULED_METHODS.get(clazz).length > 0;
+    }
+
+    /**
+     * 开始执行bean中的定时方法
+     *
+     * @param bean      容器中的bean，有拦截器时是代理
+     * @param clazz     bean定义的类型
+     * @param executors 按名称获取执行器
+     */
+    void schedule(Object bean, Class<?> clazz, Function<String, AsyncExecutor> executors) {
+        if (shutdown) {
+            return;
+        }
+        for (Method method : SCHEDULED_METHODS.get(clazz)) {
+            Scheduled scheduled = method.getAnnotation(Scheduled.class);
+            if (method.getParameterCount() != 0) {
+                throw new BeanCreationException("@Scheduled method must have no parameters, method:" + method);
+            }
+            if ((scheduled.fixedRate() > 0) == (scheduled.fixedDelay() > 0)) {
+                throw new BeanCreationException("@Scheduled method must set one of fixedRate and fixedDelay, method:" + method);
+            }
+            MethodHandle handle;
+            try {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method).asType(TASK_TYPE);
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new BeanCreationException("can not access @Scheduled method:" + method, e);
+            }
+            ScheduledTask task = new ScheduledTask(method, bean, handle, executors.apply(scheduled.executor()), scheduled);
+            tasks.add(task);
+            task.start();
+        }
+    }
+
+    /**
+     * 取消所有任务并停止时间轮
+     */
+    void shutdown() {
+        shutdown = true;
+        for (ScheduledTask task : tasks) {
+            task.cancel();
+        }
+        tasks.clear();
+        timer.stop();
+    }
+
+    int getTaskCount() {
+        return tasks.size();
+    }
+
+    private final class ScheduledTask {
+
+        private final Method method;
+
+        private final Object bean;
+
+        /**
+         * (Object bean)void
+         */
+        private final MethodHandle handle;
+
+        private final AsyncExecutor executor;
+
+        private final boolean fixedRate;
+
+        private final long periodNanos;
+
+        private final long initialDelayNanos;
+
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        private volatile boolean cancelled;
+
+        /**
+         * 下一次计划执行的时间，只在时间轮线程中访问
+         */
+        private long nextRunNanos;
+
+        ScheduledTask(Method method, Object bean, MethodHandle handle, AsyncExecutor executor, Scheduled scheduled) {
+            this.method = method;
+            this.bean = bean;
+            this.handle = handle;
+            this.executor = executor;
+            this.fixedRate = scheduled.fixedRate() > 0;
+            this.periodNanos = scheduled.timeUnit().toNanos(fixedRate ? scheduled.fixedRate() : scheduled.fixedDelay());
+            this.initialDelayNanos = scheduled.timeUnit().toNanos(Math.max(0, scheduled.initialDelay()));
+        }
+
+        void start() {
+            nextRunNanos = System.nanoTime() + initialDelayNanos;
+            timeout = timer.newTimeout(this::fire, initialDelayNanos);
+        }
+
+        /**
+         * 到期时在时间轮线程中执行，固定频率的任务先计算下一次的时间再提交
+         */
+        private void fire() {
+            if (cancelled) {
+                return;
+            }
+            if (fixedRate) {
+                nextRunNanos += periodNanos;
+                timeout = timer.newTimeout(this::fire, nextRunNanos - System.nanoTime());
+                if (!running.compareAndSet(false, true)) {
+                    log.debug("scheduled method is still running, skip:{}", method);
+                    return;
+                }
+            }
+            try {
+                executor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                log.warn("executor is shut down, cancel scheduled method:{}", method);
+                this.cancel();
+            }
+        }
+
+        private void run() {
+            try {
+                handle.invokeExact(bean);
+            } catch (Throwable e) {
+                log.error("scheduled method failed, method:{}, 错误信息:{}", method, e.getMessage());
+            } finally {
+                if (fixedRate) {
+                    running.set(false);
+                } else if (!cancelled) {
+                    timeout = timer.newTimeout(this::fire, periodNanos);
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            HashedWheelTimer.Timeout timeout = this.timeout;
+            if (null != timeout) {
+                timeout.cancel();
+            }
+        }
+    }
+}
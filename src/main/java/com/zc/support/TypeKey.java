@@ -0,0 +1,145 @@
+package com.zc.support;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 完整的泛型类型key，Repository&lt;User&gt;和Repository&lt;Order&gt;是不同的key
+ * 通配符按上界处理，没有泛型参数的key等同于原始类型
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public final class TypeKey {
+
+    private static final TypeKey[] NO_ARGUMENTS = new TypeKey[0];
+
+    private final Class<?> rawType;
+
+    private final TypeKey[] arguments;
+
+    private final int hash;
+
+    private TypeKey(Class<?> rawType, TypeKey[] arguments) {
+        this.rawType = rawType;
+        this.arguments = arguments;
+        this.hash = 31 * rawType.hashCode() + Arrays.hashCode(arguments);
+    }
+
+    public static TypeKey of(Class<?> rawType, TypeKey... arguments) {
+        return new TypeKey(rawType, arguments.length == 0 ? NO_ARGUMENTS : arguments.clone());
+    }
+
+    /**
+     * 解析注入点的类型，无法确定的类型变量按第一个上界处理
+     *
+     * @param type
+     * @return
+     */
+    public static TypeKey of(Type type) {
+        return resolve(type, Collections.emptyMap(), false);
+    }
+
+    /**
+     * 按类型变量的绑定解析类型
+     *
+     * @param type
+     * @param bindings
+     * @param strict   为true时存在无法确定的类型变量返回null
+     * @return
+     */
+    static TypeKey resolve(Type type, Map<TypeVariable<?>, TypeKey> bindings, boolean strict) {
+        if (type instanceof Class) {
+            return new TypeKey((Class<?>) type, NO_ARGUMENTS);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+            TypeKey[] arguments = new TypeKey[actualTypeArguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = resolve(actualTypeArguments[i], bindings, strict);
+                if (null == arguments[i]) {
+                    return null;
+                }
+            }
+            return new TypeKey((Class<?>) parameterizedType.getRawType(), arguments);
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            return resolve(lowerBounds.length > 0 ? lowerBounds[0] : wildcardType.getUpperBounds()[0], bindings, strict);
+        }
+        if (type instanceof TypeVariable) {
+            TypeKey bound = bindings.get(type);
+            if (null != bound) {
+                return bound;
+            }
+            return strict ? null : resolve(((TypeVariable<?>) type).getBounds()[0], bindings, false);
+        }
+        if (type instanceof GenericArrayType) {
+            TypeKey component = resolve(((GenericArrayType) type).getGenericComponentType(), bindings, strict);
+            return null == component ? null : new TypeKey(Array.newInstance(component.rawType, 0).getClass(), NO_ARGUMENTS);
+        }
+        throw new IllegalArgumentException("unsupported type:" + type);
+    }
+
+    public Class<?> getRawType() {
+        return rawType;
+    }
+
+    /**
+     * 第index个泛型参数，原始类型返回Object
+     *
+     * @param index
+     * @return
+     */
+    public TypeKey getArgument(int index) {
+        return index < arguments.length ? arguments[index] : new TypeKey(Object.class, NO_ARGUMENTS);
+    }
+
+    /**
+     * 是否带有泛型参数
+     *
+     * @return
+     */
+    public boolean isParameterized() {
+        return arguments.length > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TypeKey)) {
+            return false;
+        }
+        TypeKey that = (TypeKey) o;
+        return hash == that.hash && rawType == that.rawType && Arrays.equals(arguments, that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        if (arguments.length == 0) {
+            return rawType.getName();
+        }
+        StringBuilder builder = new StringBuilder(rawType.getName()).append('<');
+        for (int i = 0; i < arguments.length; i++) {
+            builder.append(i == 0 ? "" : ", ").append(arguments[i]);
+        }
+        return builder.append('>').toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.zc.support;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * 用匿名子类捕获完整的泛型类型，按泛型类型获取bean时使用
+ * 例如：new TypeLiteral&lt;Repository&lt;User&gt;&gt;() {}
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public abstract class TypeLiteral<T> {
+
+    private final TypeKey key;
+
+    protected TypeLiteral() {
+        Type superclass = getClass().getGenericSuperclass();
+        if (!(superclass instanceof ParameterizedType)) {
+            throw new IllegalStateException("TypeLiteral must be created with a type argument");
+        }
+        this.key = TypeKey.of(((ParameterizedType) superclass).getActualTypeArguments()[0]);
+    }
+
+    public TypeKey getKey() {
+        return key;
+    }
+}
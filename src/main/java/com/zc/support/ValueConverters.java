@@ -0,0 +1,175 @@
+package com.zc.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 配置值的类型转换，每个目标类型的转换器第一次使用时确定，挂在Class上缓存
+ * 支持字符串、基本类型及其包装类型、BigDecimal、BigInteger、枚举、Duration，以及带有静态valueOf(String)或String构造方法的类型
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+final class ValueConverters {
+
+    private static final Map<Class<?>, Function<String, Object>> BUILT_IN = new HashMap<>(32);
+
+    static {
+        BUILT_IN.put(String.class, text -> text);
+        BUILT_IN.put(int.class, text -> Integer.valueOf(text.trim()));
+        BUILT_IN.put(Integer.class, text -> Integer.valueOf(text.trim()));
+        BUILT_IN.put(long.class, text -> Long.valueOf(text.trim()));
+        BUILT_IN.put(Long.class, text -> Long.valueOf(text.trim()));
+        BUILT_IN.put(short.class, text -> Short.valueOf(text.trim()));
+        BUILT_IN.put(Short.class, text -> Short.valueOf(text.trim()));
+        BUILT_IN.put(byte.class, text -> Byte.valueOf(text.trim()));
+        BUILT_IN.put(Byte.class, text -> Byte.valueOf(text.trim()));
+        BUILT_IN.put(double.class, text -> Double.valueOf(text.trim()));
+        BUILT_IN.put(Double.class, text -> Double.valueOf(text.trim()));
+        BUILT_IN.put(float.class, text -> Float.valueOf(text.trim()));
+        BUILT_IN.put(Float.class, text -> Float.valueOf(text.trim()));
+        BUILT_IN.put(boolean.class, ValueConverters::toBoolean);
+        BUILT_IN.put(Boolean.class, ValueConverters::toBoolean);
+        BUILT_IN.put(char.class, ValueConverters::toCharacter);
+        BUILT_IN.put(Character.class, ValueConverters::toCharacter);
+        BUILT_IN.put(BigDecimal.class, text -> new BigDecimal(text.trim()));
+        BUILT_IN.put(BigInteger.class, text -> new BigInteger(text.trim()));
+        BUILT_IN.put(Duration.class, ValueConverters::toDuration);
+    }
+
+    private static final ClassValue<Function<String, Object>> CONVERTERS = new ClassValue<Function<String, Object>>() {
+        @Override
+        protected Function<String, Object> computeValue(Class<?> type) {
+            return createConverter(type);
+        }
+    };
+
+    private ValueConverters() {
+    }
+
+    /**
+     * 把配置值转换为目标类型
+     *
+     * @param text
+     * @param type
+     * @return
+     * @throws IllegalArgumentException 不支持该类型或格式错误
+     */
+    static Object convert(String text, Class<?> type) {
+        return CONVERTERS.get(type).apply(text);
+    }
+
+    private static Function<String, Object> createConverter(Class<?> type) {
+        Function<String, Object> converter = BUILT_IN.get(type);
+        if (null != converter) {
+            return converter;
+        }
+        if (type.isEnum()) {
+            return text -> toEnum(type, text.trim());
+        }
+        MethodHandle factory = findFactory(type);
+        if (null == factory) {
+            return text -> {
+                throw new IllegalArgumentException("unsupported value type:" + type.getName());
+            };
+        }
+        return text -> {
+            try {
+                return factory.invokeExact(text);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalArgumentException("can not convert value to " + type.getName() + ":" + text, e);
+            }
+        };
+    }
+
+    /**
+     * 静态valueOf(String)方法或String构造方法，适配为(String)Object
+     */
+    private static MethodHandle findFactory(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodType factoryType = MethodType.methodType(Object.class, String.class);
+        try {
+            Method valueOf = type.getMethod("valueOf", String.class);
+            if (Modifier.isStatic(valueOf.getModifiers()) && type.isAssignableFrom(valueOf.getReturnType())) {
+                return lookup.unreflect(valueOf).asType(factoryType);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // 没有可用的valueOf，继续查找构造方法
+        }
+        try {
+            return lookup.findConstructor(type, MethodType.methodType(void.class, String.class)).asType(factoryType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object toEnum(Class<?> type, String text) {
+        try {
+            return Enum.valueOf((Class<? extends Enum>) type, text);
+        } catch (IllegalArgumentException e) {
+            return Enum.valueOf((Class<? extends Enum>) type, text.toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static Object toBoolean(String text) {
+        String value = text.trim();
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("invalid boolean value:" + text);
+    }
+
+    private static Object toCharacter(String text) {
+        if (text.length() != 1) {
+            throw new IllegalArgumentException("invalid char value:" + text);
+        }
+        return text.charAt(0);
+    }
+
+    /**
+     * ISO-8601格式（PT5S），或者数字加单位ms、s、m、h、d，只有数字时按毫秒
+     */
+    private static Object toDuration(String text) {
+        String value = text.trim();
+        if (value.startsWith("P") || value.startsWith("p") || value.startsWith("-P")) {
+            return Duration.parse(value);
+        }
+        int unitStart = value.length();
+        while (unitStart > 0 && Character.isLetter(value.charAt(unitStart - 1))) {
+            unitStart--;
+        }
+        long amount = Long.parseLong(value.substring(0, unitStart).trim());
+        switch (value.substring(unitStart).toLowerCase(Locale.ROOT)) {
+            case "":
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException("invalid duration value:" + text);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.zc.support;
+
+import java.lang.reflect.Field;
+
+/**
+ * 注入计划中的一个@Value字段：配置值已经转换好，每次注入只是写入常量
+ * 基本类型按原始值保存，通过对应的setInt、setLong等方法写入，不装箱
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+final class ValueField {
+
+    private final Field field;
+
+    /**
+     * 基本类型的种类，引用类型为'L'
+     */
+    private final char kind;
+
+    private final long longValue;
+
+    private final double doubleValue;
+
+    private final Object value;
+
+    ValueField(Field field, Object value) {
+        field.setAccessible(true);
+        this.field = field;
+        Class<?> type = field.getType();
+        long longValue = 0;
+        double doubleValue = 0;
+        char kind = 'L';
+        if (type == int.class || type == long.class || type == short.class || type == byte.class) {
+            kind = type == int.class ? 'I' : type == long.class ? 'J' : type == short.class ? 'S' : 'B';
+            longValue = ((Number) value).longValue();
+        } else if (type == double.class || type == float.class) {
+            kind = type == double.class ? 'D' : 'F';
+            doubleValue = ((Number) value).doubleValue();
+        } else if (type == boolean.class) {
+            kind = 'Z';
+            longValue = (Boolean) value ? 1 : 0;
+        } else if (type == char.class) {
+            kind = 'C';
+            longValue = (Character) value;
+        }
+        this.kind = kind;
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+        this.value = kind == 'L' ? value : null;
+    }
+
+    void inject(Object instance) throws IllegalAccessException {
+        switch (kind) {
+            case 'I':
+                field.setInt(instance, (int) longValue);
+                break;
+            case 'J':
+                field.setLong(instance, longValue);
+                break;
+            case 'S':
+                field.setShort(instance, (short) longValue);
+                break;
+            case 'B':
+                field.setByte(instance, (byte) longValue);
+                break;
+            case 'D':
+                field.setDouble(instance, doubleValue);
+                break;
+            case 'F':
+                field.setFloat(instance, (float) doubleValue);
+                break;
+            case 'Z':
+                field.setBoolean(instance, longValue != 0);
+                break;
+            case 'C':
+                field.setChar(instance, (char) longValue);
+                break;
+            default:
+                field.set(instance, value);
+                break;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.zc.test.accounting;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 实现类只直接继承该类，Ledger是间接实现的接口
+ */
+public abstract class AbstractLedger implements AuditedLedger {
+
+    @Override
+    public long balance() {
+        return 0;
+    }
+}
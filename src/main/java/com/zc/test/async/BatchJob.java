@@ -0,0 +1,24 @@
+package com.zc.test.async;
+
+import com.zc.annotation.Async;
+import com.zc.annotation.Singleton;
+import lombok.Getter;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Async
+@Singleton
+public class BatchJob {
+
+    private final String name = "batch";
+
+    public void run(CountDownLatch latch) {
+        latch.countDown();
+    }
+}
@@ -0,0 +1,26 @@
+package com.zc.test.async;
+
+import com.zc.annotation.Async;
+import com.zc.annotation.Singleton;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class MailSender {
+
+    @Async
+    public CompletableFuture<String> send(String to) {
+        return CompletableFuture.completedFuture(Thread.currentThread().getName() + ":" + to);
+    }
+
+    @Async("reportExecutor")
+    public void report(CountDownLatch latch) {
+        latch.countDown();
+    }
+}
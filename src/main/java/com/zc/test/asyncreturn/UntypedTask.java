@@ -0,0 +1,20 @@
+package com.zc.test.asyncreturn;
+
+import com.zc.annotation.Async;
+import com.zc.annotation.Singleton;
+
+/**
+ * 返回Object的@Async方法，调用方拿到的是future而不是声明的结果，创建代理时报错
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class UntypedTask {
+
+    @Async
+    public Object run() {
+        return "done";
+    }
+}
@@ -0,0 +1,17 @@
+package com.zc.test.backup;
+
+import com.zc.test.qualifier.Region;
+import com.zc.test.qualifier.Store;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Region("east")
+public class BackupEastStore implements Store {
+    @Override
+    public String location() {
+        return "backup-east";
+    }
+}
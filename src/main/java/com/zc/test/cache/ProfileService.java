@@ -0,0 +1,27 @@
+package com.zc.test.cache;
+
+import com.zc.annotation.Cacheable;
+import com.zc.annotation.Singleton;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class ProfileService {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Cacheable(name = "users", maxSize = 100)
+    public String findName(long id) {
+        loads.incrementAndGet();
+        return "user-" + id;
+    }
+
+    public int getLoads() {
+        return loads.get();
+    }
+}
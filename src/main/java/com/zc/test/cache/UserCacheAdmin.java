@@ -0,0 +1,23 @@
+package com.zc.test.cache;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Named;
+import com.zc.annotation.Singleton;
+import com.zc.support.BoundedCache;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class UserCacheAdmin {
+
+    @Inject
+    @Named("users")
+    private BoundedCache<Long, String> users;
+
+    public void evict(long id) {
+        users.invalidate(id);
+    }
+}
@@ -0,0 +1,20 @@
+package com.zc.test.cacheconflict;
+
+import com.zc.annotation.Cacheable;
+import com.zc.annotation.Singleton;
+
+/**
+ * 和ProfileService的方法使用了同一个缓存名称，参数相同时会读到对方的结果
+ *
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class NameLookup {
+
+    @Cacheable(name = "users")
+    public String findName(long id) {
+        return "lookup-" + id;
+    }
+}
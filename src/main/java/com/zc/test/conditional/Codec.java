@@ -0,0 +1,11 @@
+package com.zc.test.conditional;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface Codec {
+
+    String name();
+}
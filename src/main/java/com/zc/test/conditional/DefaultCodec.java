@@ -0,0 +1,19 @@
+package com.zc.test.conditional;
+
+import com.zc.annotation.ConditionalOnMissingBean;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 没有其它Codec时使用的默认实现
+ */
+@Singleton
+@ConditionalOnMissingBean(Codec.class)
+public class DefaultCodec implements Codec {
+
+    @Override
+    public String name() {
+        return "default";
+    }
+}
@@ -0,0 +1,19 @@
+package com.zc.test.conditional;
+
+import com.zc.annotation.ConditionalOnProperty;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 配置zc.codec.fast=true时启用
+ */
+@Singleton
+@ConditionalOnProperty(name = "zc.codec.fast", havingValue = "true")
+public class FastCodec implements Codec {
+
+    @Override
+    public String name() {
+        return "fast";
+    }
+}
@@ -0,0 +1,13 @@
+package com.zc.test.conditional;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 记录OptionalIntegration是否执行过静态初始化
+ */
+public class IntegrationProbe {
+
+    public static final AtomicBoolean INITIALIZED = new AtomicBoolean();
+}
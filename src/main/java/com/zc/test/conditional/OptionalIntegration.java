@@ -0,0 +1,18 @@
+package com.zc.test.conditional;
+
+import com.zc.annotation.ConditionalOnClass;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 依赖的驱动不存在，不应被加载和初始化
+ */
+@Singleton
+@ConditionalOnClass(name = "com.zc.missing.Driver")
+public class OptionalIntegration {
+
+    static {
+        IntegrationProbe.INITIALIZED.set(true);
+    }
+}
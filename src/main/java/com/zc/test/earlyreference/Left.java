@@ -0,0 +1,20 @@
+package com.zc.test.earlyreference;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 构造方法注入的单例循环依赖，无法提前暴露
+ */
+@Singleton
+public class Left {
+
+    private final Right right;
+
+    @Inject
+    public Left(Right right) {
+        this.right = right;
+    }
+}
@@ -0,0 +1,18 @@
+package com.zc.test.earlyreference;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Singleton;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 属性注入的单例循环依赖
+ */
+@Getter
+@Singleton
+public class Pilot {
+
+    @Inject
+    private Plane plane;
+}
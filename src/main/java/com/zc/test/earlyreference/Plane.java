@@ -0,0 +1,22 @@
+package com.zc.test.earlyreference;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Singleton;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 方法注入的单例循环依赖
+ */
+@Getter
+@Singleton
+public class Plane {
+
+    private Pilot pilot;
+
+    @Inject
+    public void setPilot(Pilot pilot) {
+        this.pilot = pilot;
+    }
+}
@@ -0,0 +1,20 @@
+package com.zc.test.earlyreference;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 构造方法注入的单例循环依赖，无法提前暴露
+ */
+@Singleton
+public class Right {
+
+    private final Left left;
+
+    @Inject
+    public Right(Left left) {
+        this.left = left;
+    }
+}
@@ -0,0 +1,27 @@
+package com.zc.test.event;
+
+import com.zc.annotation.Singleton;
+import com.zc.annotation.Subscribe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class AuditTrail {
+
+    private final List<DomainEvent> events = new ArrayList<>();
+
+    @Subscribe
+    public void record(DomainEvent event) {
+        events.add(event);
+    }
+
+    public List<DomainEvent> getEvents() {
+        return events;
+    }
+}
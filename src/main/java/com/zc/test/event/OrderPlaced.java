@@ -0,0 +1,19 @@
+package com.zc.test.event;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class OrderPlaced implements DomainEvent {
+
+    private final long orderId;
+
+    public OrderPlaced(long orderId) {
+        this.orderId = orderId;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,27 @@
+package com.zc.test.event;
+
+import com.zc.annotation.Singleton;
+import com.zc.annotation.Subscribe;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class ShippingNotifier {
+
+    private final BlockingQueue<String> notified = new LinkedBlockingQueue<>();
+
+    @Subscribe(async = true)
+    public void onOrderPlaced(OrderPlaced event) {
+        notified.add(Thread.currentThread().getName() + ":" + event.getOrderId());
+    }
+
+    public BlockingQueue<String> getNotified() {
+        return notified;
+    }
+}
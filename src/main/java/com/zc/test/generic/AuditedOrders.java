@@ -0,0 +1,23 @@
+package com.zc.test.generic;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Lazy;
+import com.zc.annotation.Singleton;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Singleton
+public class AuditedOrders {
+
+    @Inject
+    private Audit<Order> audit;
+
+    @Inject
+    @Lazy
+    private Repository<User> users;
+}
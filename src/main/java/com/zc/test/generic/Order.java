@@ -0,0 +1,9 @@
+package com.zc.test.generic;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class Order {
+}
@@ -0,0 +1,24 @@
+package com.zc.test.generic;
+
+import com.zc.annotation.Named;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Named
+public class OrderAudit implements Audit<Order> {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public OrderAudit() {
+        INSTANCES.incrementAndGet();
+    }
+
+    @Override
+    public void record(Order entity) {
+    }
+}
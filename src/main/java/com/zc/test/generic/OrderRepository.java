@@ -0,0 +1,17 @@
+package com.zc.test.generic;
+
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class OrderRepository extends AbstractRepository<Order> {
+
+    @Override
+    public Class<Order> getEntityType() {
+        return Order.class;
+    }
+}
@@ -0,0 +1,11 @@
+package com.zc.test.generic;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface Repository<T> {
+
+    Class<T> getEntityType();
+}
@@ -0,0 +1,25 @@
+package com.zc.test.generic;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Provider;
+import com.zc.annotation.Singleton;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Singleton
+public class RepositoryService {
+
+    @Inject
+    private Repository<User> userRepository;
+
+    @Inject
+    private Provider<Repository<Order>> orderRepositoryProvider;
+
+    @Inject
+    private Repository<? extends Order> orderRepository;
+}
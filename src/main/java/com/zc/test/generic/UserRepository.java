@@ -0,0 +1,17 @@
+package com.zc.test.generic;
+
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class UserRepository implements Repository<User> {
+
+    @Override
+    public Class<User> getEntityType() {
+        return User.class;
+    }
+}
@@ -0,0 +1,23 @@
+package com.zc.test.interceptor;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Singleton;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 和Beta属性注入循环依赖，方法需要拦截，Beta拿到的提前暴露的引用也应该是代理
+ */
+@Getter
+@Singleton
+public class Alpha {
+
+    @Inject
+    private Beta beta;
+
+    @Traced
+    public String greet() {
+        return "alpha";
+    }
+}
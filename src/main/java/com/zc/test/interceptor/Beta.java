@@ -0,0 +1,18 @@
+package com.zc.test.interceptor;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Singleton;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Singleton
+public class Beta {
+
+    @Inject
+    private Alpha alpha;
+}
@@ -0,0 +1,32 @@
+package com.zc.test.interceptor;
+
+import com.zc.annotation.Interceptors;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class OrderService {
+
+    private int attempts;
+
+    @Traced
+    public String place(String item) {
+        return "placed " + item;
+    }
+
+    public String status() {
+        return "ok";
+    }
+
+    @Interceptors(RetryInterceptor.class)
+    public int flaky() {
+        if (++attempts == 1) {
+            throw new IllegalStateException("first attempt fails");
+        }
+        return attempts;
+    }
+}
@@ -0,0 +1,21 @@
+package com.zc.test.interceptor;
+
+import com.zc.support.MethodInterceptor;
+import com.zc.support.MethodInvocation;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 失败时重试一次
+ */
+public class RetryInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try {
+            return invocation.proceed();
+        } catch (IllegalStateException e) {
+            return invocation.proceed();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.zc.test.interceptor;
+
+import com.zc.annotation.InterceptorBinding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 需要记录调用的方法
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Traced {
+}
@@ -0,0 +1,30 @@
+package com.zc.test.interceptor;
+
+import com.zc.annotation.Singleton;
+import com.zc.support.MethodInterceptor;
+import com.zc.support.MethodInvocation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 记录被调用的方法名
+ */
+@Singleton
+@Traced
+public class TracingInterceptor implements MethodInterceptor {
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        calls.add(invocation.getMethod().getName());
+        return invocation.proceed();
+    }
+
+    public List<String> getCalls() {
+        return calls;
+    }
+}
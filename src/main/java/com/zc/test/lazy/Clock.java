@@ -0,0 +1,11 @@
+package com.zc.test.lazy;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 包内可见的接口
+ */
+interface Clock {
+
+    long now();
+}
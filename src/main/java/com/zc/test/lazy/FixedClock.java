@@ -0,0 +1,17 @@
+package com.zc.test.lazy;
+
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class FixedClock implements Clock {
+
+    @Override
+    public long now() {
+        return 42L;
+    }
+}
@@ -0,0 +1,11 @@
+package com.zc.test.lazy;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface HeavyService {
+
+    int compute(int value);
+}
@@ -0,0 +1,25 @@
+package com.zc.test.lazy;
+
+import com.zc.annotation.Singleton;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 创建成本高的实现，记录创建次数
+ */
+@Singleton
+public class HeavyServiceImpl implements HeavyService {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public HeavyServiceImpl() {
+        INSTANCES.incrementAndGet();
+    }
+
+    @Override
+    public int compute(int value) {
+        return value * 2;
+    }
+}
@@ -0,0 +1,28 @@
+package com.zc.test.lazy;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Lazy;
+import com.zc.annotation.Named;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Named
+public class ReportJob {
+
+    @Inject
+    @Lazy
+    private HeavyService heavyService;
+
+    @Inject
+    @Lazy
+    private Clock clock;
+
+    public long now() {
+        return clock.now();
+    }
+}
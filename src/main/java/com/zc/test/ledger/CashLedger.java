@@ -0,0 +1,13 @@
+package com.zc.test.ledger;
+
+import com.zc.annotation.Singleton;
+import com.zc.test.accounting.AbstractLedger;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class CashLedger extends AbstractLedger {
+}
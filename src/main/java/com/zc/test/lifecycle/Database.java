@@ -0,0 +1,32 @@
+package com.zc.test.lifecycle;
+
+import com.zc.annotation.PostConstruct;
+import com.zc.annotation.PreDestroy;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class Database {
+
+    private volatile boolean open;
+
+    @PostConstruct
+    public void open() {
+        open = true;
+        LifecycleEvents.EVENTS.add("start database");
+    }
+
+    @PreDestroy
+    public void close() {
+        open = false;
+        LifecycleEvents.EVENTS.add("stop database");
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+}
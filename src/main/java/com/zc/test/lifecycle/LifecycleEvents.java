@@ -0,0 +1,15 @@
+package com.zc.test.lifecycle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 记录生命周期回调的执行顺序
+ */
+public class LifecycleEvents {
+
+    public static final List<String> EVENTS = Collections.synchronizedList(new ArrayList<>());
+}
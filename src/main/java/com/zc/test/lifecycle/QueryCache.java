@@ -0,0 +1,28 @@
+package com.zc.test.lifecycle;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.PostConstruct;
+import com.zc.annotation.PreDestroy;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 依赖Database，启动时Database应已打开，关闭时先于Database关闭
+ */
+@Singleton
+public class QueryCache {
+
+    @Inject
+    private Database database;
+
+    @PostConstruct
+    public void warmUp() {
+        LifecycleEvents.EVENTS.add(database.isOpen() ? "start cache" : "start cache before database");
+    }
+
+    @PreDestroy
+    public void flush() {
+        LifecycleEvents.EVENTS.add(database.isOpen() ? "stop cache" : "stop cache after database");
+    }
+}
@@ -0,0 +1,19 @@
+package com.zc.test.lifecycle;
+
+import com.zc.annotation.PreDestroy;
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 关闭很慢，用于验证关闭超时
+ */
+@Singleton
+public class SlowReporter {
+
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        Thread.sleep(5000);
+        LifecycleEvents.EVENTS.add("stop reporter");
+    }
+}
@@ -0,0 +1,13 @@
+package com.zc.test.module;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class EnglishGreeting implements Greeting {
+    @Override
+    public String greet() {
+        return "hello";
+    }
+}
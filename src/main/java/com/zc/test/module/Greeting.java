@@ -0,0 +1,10 @@
+package com.zc.test.module;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface Greeting {
+    String greet();
+}
@@ -0,0 +1,20 @@
+package com.zc.test.module;
+
+import com.zc.annotation.Inject;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+public class GreetingService {
+
+    @Inject
+    private Greeting greeting;
+
+    @Inject
+    @Loud
+    private Greeting loudGreeting;
+}
@@ -0,0 +1,13 @@
+package com.zc.test.module;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public class LoudGreeting implements Greeting {
+    @Override
+    public String greet() {
+        return "HELLO";
+    }
+}
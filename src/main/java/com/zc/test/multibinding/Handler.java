@@ -0,0 +1,11 @@
+package com.zc.test.multibinding;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface Handler {
+
+    String handle(String message);
+}
@@ -0,0 +1,28 @@
+package com.zc.test.multibinding;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Singleton;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Singleton
+public class HandlerRegistry {
+
+    @Inject
+    private List<Handler> handlers;
+
+    @Inject
+    private Set<Handler> handlerSet;
+
+    @Inject
+    private Map<String, Handler> handlerMap;
+}
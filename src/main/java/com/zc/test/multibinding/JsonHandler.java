@@ -0,0 +1,17 @@
+package com.zc.test.multibinding;
+
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class JsonHandler implements Handler {
+
+    @Override
+    public String handle(String message) {
+        return "json:" + message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.zc.test.ondemand;
+
+import com.zc.annotation.Singleton;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 记录创建次数，包启动前不应被创建
+ */
+@Singleton
+public class Inventory {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public Inventory() {
+        INSTANCES.incrementAndGet();
+    }
+}
@@ -0,0 +1,18 @@
+package com.zc.test.ondemand;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Named;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Named
+public class InventoryService {
+
+    @Inject
+    private Inventory inventory;
+}
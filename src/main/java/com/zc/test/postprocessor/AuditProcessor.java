@@ -0,0 +1,36 @@
+package com.zc.test.postprocessor;
+
+import com.zc.annotation.Singleton;
+import com.zc.support.BeanPostProcessor;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 只处理带有@Audited的bean，记录处理过的类
+ */
+@Singleton
+public class AuditProcessor implements BeanPostProcessor {
+
+    private final Set<Class<?>> processedClasses = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Set<Class<? extends Annotation>> getTargetAnnotations() {
+        return Collections.singleton(Audited.class);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, Class<?> beanClass) {
+        processedClasses.add(beanClass);
+        ((AuditedService) bean).setAudited(true);
+        return bean;
+    }
+
+    public Set<Class<?>> getProcessedClasses() {
+        return processedClasses;
+    }
+}
@@ -0,0 +1,19 @@
+package com.zc.test.postprocessor;
+
+import com.zc.annotation.Named;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Setter
+@Named
+@Audited
+public class AuditedService {
+
+    private boolean audited;
+}
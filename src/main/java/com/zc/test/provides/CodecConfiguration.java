@@ -0,0 +1,43 @@
+package com.zc.test.provides;
+
+import com.zc.annotation.Named;
+import com.zc.annotation.PackageConfiguration;
+import com.zc.annotation.Provides;
+import com.zc.annotation.Singleton;
+
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 第三方类型通过@Provides方法注册
+ */
+@PackageConfiguration(packages = {})
+public class CodecConfiguration {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public CodecConfiguration() {
+        INSTANCES.incrementAndGet();
+    }
+
+    @Provides
+    @Singleton
+    public Charset charset() {
+        return StandardCharsets.UTF_8;
+    }
+
+    @Provides
+    public CharsetEncoder encoder(Charset charset) {
+        return charset.newEncoder();
+    }
+
+    @Provides
+    @Named("lineSeparator")
+    public static String lineSeparator() {
+        return "\n";
+    }
+}
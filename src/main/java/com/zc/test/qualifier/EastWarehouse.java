@@ -0,0 +1,17 @@
+package com.zc.test.qualifier;
+
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+@Warehouse(region = @Region("east"))
+public class EastWarehouse implements Store {
+    @Override
+    public String location() {
+        return "east-warehouse";
+    }
+}
@@ -0,0 +1,19 @@
+package com.zc.test.qualifier;
+
+import com.zc.annotation.Qualifier;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Retention(RetentionPolicy.RUNTIME) @Qualifier
+public @interface Region {
+
+    String value();
+
+    int zone() default 0;
+}
@@ -0,0 +1,11 @@
+package com.zc.test.qualifier;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+public interface Store {
+
+    String location();
+}
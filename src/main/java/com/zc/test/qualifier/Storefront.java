@@ -0,0 +1,46 @@
+package com.zc.test.qualifier;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Named;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Getter
+@Named
+public class Storefront {
+
+    @Inject
+    @Region("east")
+    private Store east;
+
+    @Inject
+    @Region(value = "west", zone = 1)
+    private Store west;
+
+    /**
+     * 属性值不同，不能匹配WestStore
+     */
+    @Inject
+    @Region("west")
+    private Store westDefaultZone;
+
+    @Inject
+    @Region("north")
+    private Store north;
+
+    @Inject
+    @Named("westStore")
+    private Store named;
+
+    @Inject
+    @Warehouse(region = @Region("east"))
+    private Store warehouse;
+
+    @Inject
+    @Warehouse(region = @Region("west"))
+    private Store missingWarehouse;
+}
@@ -0,0 +1,17 @@
+package com.zc.test.qualifier;
+
+import com.zc.annotation.Qualifier;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 属性是注解的限定注解
+ */
+@Retention(RetentionPolicy.RUNTIME) @Qualifier
+public @interface Warehouse {
+
+    Region region();
+}
@@ -0,0 +1,17 @@
+package com.zc.test.qualifier;
+
+import com.zc.annotation.Singleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+@Region(value = "west", zone = 1)
+public class WestStore implements Store {
+    @Override
+    public String location() {
+        return "west";
+    }
+}
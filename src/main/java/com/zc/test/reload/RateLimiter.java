@@ -0,0 +1,43 @@
+package com.zc.test.reload;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Provider;
+import com.zc.annotation.Singleton;
+import com.zc.annotation.Subscribe;
+import com.zc.support.ConfigChangedEvent;
+import com.zc.support.ConfigView;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class RateLimiter {
+
+    private final Provider<Integer> permitsPerSecond;
+
+    private final BlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+
+    @Inject
+    public RateLimiter(ConfigView configView) {
+        this.permitsPerSecond = configView.bind("zc.reload.permits", Integer.class, 100);
+    }
+
+    @Subscribe
+    public void onConfigChanged(ConfigChangedEvent event) {
+        changes.add(event.getChangedKeys());
+    }
+
+    public int getPermitsPerSecond() {
+        return permitsPerSecond.get();
+    }
+
+    public BlockingQueue<Set<String>> getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,57 @@
+package com.zc.test.scheduled;
+
+import com.zc.annotation.PostConstruct;
+import com.zc.annotation.Scheduled;
+import com.zc.annotation.Singleton;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+public class Heartbeat {
+
+    private final AtomicInteger beats = new AtomicInteger();
+
+    private final AtomicInteger sweeps = new AtomicInteger();
+
+    private volatile boolean started;
+
+    /**
+     * 定时任务在@PostConstruct执行完后才开始，执行前started一定为true
+     */
+    private volatile boolean startedBeforeFirstBeat = true;
+
+    @PostConstruct
+    public void start() {
+        started = true;
+    }
+
+    @Scheduled(fixedRate = 20)
+    public void beat() {
+        if (!started) {
+            startedBeforeFirstBeat = false;
+        }
+        beats.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelay = 10, initialDelay = 30)
+    public void sweep() {
+        sweeps.incrementAndGet();
+    }
+
+    public int getBeats() {
+        return beats.get();
+    }
+
+    public int getSweeps() {
+        return sweeps.get();
+    }
+
+    public boolean isStartedBeforeFirstBeat() {
+        return startedBeforeFirstBeat;
+    }
+}
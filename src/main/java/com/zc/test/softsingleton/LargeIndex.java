@@ -0,0 +1,13 @@
+package com.zc.test.softsingleton;
+
+import com.zc.annotation.SoftSingleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 可重建的大索引
+ */
+@SoftSingleton
+public class LargeIndex {
+    private final int[] table = new int[1024];
+}
@@ -0,0 +1,13 @@
+package com.zc.test.softsingleton;
+
+import com.zc.annotation.SoftSingleton;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 可重建的查找表
+ */
+@SoftSingleton
+public class LookupTable {
+    private final int[] table = new int[1024];
+}
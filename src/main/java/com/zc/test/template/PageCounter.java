@@ -0,0 +1,27 @@
+package com.zc.test.template;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Named;
+import com.zc.annotation.TemplatePrototype;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Named
+@Getter
+@TemplatePrototype
+public class PageCounter {
+
+    @Inject
+    private ReportConfig config;
+
+    /**
+     * 可变的计数器，不能从模板拷贝
+     */
+    private final AtomicInteger printed = new AtomicInteger();
+}
@@ -0,0 +1,25 @@
+package com.zc.test.template;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Named;
+import com.zc.annotation.TemplatePrototype;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Named
+@Getter
+@TemplatePrototype
+public class Report {
+
+    @Inject
+    private ReportConfig config;
+
+    @Inject
+    private ReportBuffer buffer;
+
+    private int pageSize = 20;
+}
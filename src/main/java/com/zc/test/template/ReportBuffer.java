@@ -0,0 +1,12 @@
+package com.zc.test.template;
+
+import com.zc.annotation.Named;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Named
+public class ReportBuffer {
+}
@@ -0,0 +1,13 @@
+package com.zc.test.tenant;
+
+import com.zc.annotation.Singleton;
+import com.zc.test.template.ReportConfig;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 租户覆盖的报表配置
+ */
+@Singleton
+public class TenantReportConfig extends ReportConfig {
+}
@@ -0,0 +1,28 @@
+package com.zc.test.value;
+
+import com.zc.annotation.Inject;
+import com.zc.annotation.Named;
+import com.zc.annotation.Value;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Named
+@Getter
+public class Connection {
+
+    private final Duration timeout;
+
+    private final ServerSettings settings;
+
+    @Inject
+    public Connection(@Value("${zc.value.timeout}") Duration timeout, ServerSettings settings) {
+        this.timeout = timeout;
+        this.settings = settings;
+    }
+}
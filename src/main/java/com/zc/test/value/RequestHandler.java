@@ -0,0 +1,23 @@
+package com.zc.test.value;
+
+import com.zc.annotation.Named;
+import com.zc.annotation.TemplatePrototype;
+import com.zc.annotation.Value;
+import lombok.Getter;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Named
+@Getter
+@TemplatePrototype
+public class RequestHandler {
+
+    @Value("${zc.value.retries:3}")
+    private int retries;
+
+    @Value("${zc.value.sampling:0.25}")
+    private double sampling;
+}
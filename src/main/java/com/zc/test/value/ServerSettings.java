@@ -0,0 +1,33 @@
+package com.zc.test.value;
+
+import com.zc.annotation.Singleton;
+import com.zc.annotation.Value;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc
+ */
+@Singleton
+@Getter
+public class ServerSettings {
+
+    @Value("${zc.value.host}")
+    private String host;
+
+    @Value("${zc.value.port:8080}")
+    private int port;
+
+    @Value("${zc.value.timeout:5s}")
+    private Duration timeout;
+
+    @Value("${zc.value.unit:seconds}")
+    private TimeUnit unit;
+
+    @Value("http://${zc.value.host}:${zc.value.port:8080}/")
+    private String baseUrl;
+}
@@ -1,20 +1,114 @@
 package com.zc;
 
+import com.zc.exception.BeanCreationException;
+import com.zc.exception.CircularDependencyException;
 import com.zc.support.ApplicationContext;
+import com.zc.support.AsyncExecutor;
+import com.zc.support.BeanPostProcessor;
+import com.zc.support.BoundedCache;
+import com.zc.support.ConfigView;
+import com.zc.support.InterceptedProxy;
+import com.zc.support.ScanMode;
+import com.zc.support.TypeLiteral;
+import com.zc.test.async.BatchJob;
+import com.zc.test.async.MailSender;
+import com.zc.test.accounting.Ledger;
+import com.zc.test.bean.Action;
 import com.zc.test.bean.Student;
+import com.zc.test.cache.UserCacheAdmin;
+import com.zc.test.backup.BackupEastStore;
+import com.zc.test.cacheconflict.NameLookup;
+import com.zc.test.asyncreturn.UntypedTask;
+import com.zc.test.cache.ProfileService;
 import com.zc.test.circulardependency.A;
 import com.zc.test.circulardependency.B;
 import com.zc.test.circulardependency.CDObject;
 import com.zc.test.circulardependency.ProviderA;
 import com.zc.test.circulardependency.SingletonB;
 import com.zc.test.circulardependency.TestObject;
+import com.zc.test.conditional.Codec;
+import com.zc.test.conditional.DefaultCodec;
+import com.zc.test.conditional.FastCodec;
+import com.zc.test.conditional.IntegrationProbe;
 import com.zc.test.configuration.TestConfigurationBean;
+import com.zc.test.earlyreference.Left;
+import com.zc.test.earlyreference.Pilot;
+import com.zc.test.earlyreference.Plane;
+import com.zc.test.earlyreference.Right;
+import com.zc.test.event.AuditTrail;
+import com.zc.test.event.DomainEvent;
+import com.zc.test.event.OrderPlaced;
+import com.zc.test.event.ShippingNotifier;
+import com.zc.test.generic.AuditedOrders;
+import com.zc.test.generic.Order;
+import com.zc.test.generic.OrderAudit;
+import com.zc.test.generic.OrderRepository;
+import com.zc.test.generic.Repository;
+import com.zc.test.generic.RepositoryService;
+import com.zc.test.generic.User;
+import com.zc.test.generic.UserRepository;
+import com.zc.test.interceptor.Alpha;
+import com.zc.test.interceptor.Beta;
+import com.zc.test.interceptor.OrderService;
+import com.zc.test.interceptor.TracingInterceptor;
+import com.zc.test.lazy.HeavyService;
+import com.zc.test.lazy.HeavyServiceImpl;
+import com.zc.test.lazy.ReportJob;
+import com.zc.test.ledger.CashLedger;
+import com.zc.test.lifecycle.LifecycleEvents;
+import com.zc.test.module.EnglishGreeting;
+import com.zc.test.module.Greeting;
+import com.zc.test.module.GreetingService;
+import com.zc.test.module.Loud;
+import com.zc.test.module.LoudGreeting;
+import com.zc.test.multibinding.HandlerRegistry;
+import com.zc.test.multibinding.JsonHandler;
+import com.zc.test.multibinding.XmlHandler;
+import com.zc.test.ondemand.Inventory;
+import com.zc.test.ondemand.InventoryService;
+import com.zc.test.postprocessor.AuditProcessor;
+import com.zc.test.postprocessor.AuditedService;
+import com.zc.test.postprocessor.PlainService;
+import com.zc.test.provides.CodecConfiguration;
+import com.zc.test.qualifier.EastStore;
+import com.zc.test.qualifier.EastWarehouse;
+import com.zc.test.qualifier.Storefront;
+import com.zc.test.qualifier.WestStore;
+import com.zc.test.reload.RateLimiter;
+import com.zc.test.scheduled.Heartbeat;
+import com.zc.test.softsingleton.LargeIndex;
+import com.zc.test.softsingleton.LookupTable;
+import com.zc.test.template.PageCounter;
+import com.zc.test.template.Report;
+import com.zc.test.template.ReportBuffer;
+import com.zc.test.template.ReportConfig;
+import com.zc.test.tenant.TenantReportConfig;
+import com.zc.test.value.Connection;
+import com.zc.test.value.RequestHandler;
+import com.zc.test.value.ServerSettings;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Assert;
-import org.junit.Ignore;
 import org.junit.Test;
 
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 
 /**
  * @author zhaochang.
@@ -65,10 +159,46 @@ public class IocTest {
         Assert.assertNull(bean);
     }
 
-    @Ignore
-    @Test(expected = ExceptionInInitializerError.class)
+    /**
+     * 构造方法中的单例循环依赖无法提前暴露，仍然报错
+     */
+    @Test(expected = CircularDependencyException.class)
     public void testCircularDependency() {
-        ApplicationContext ac = ApplicationContext.createApplicationContext();
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.NONE).build();
+        ac.registerBeans(Arrays.asList(Left.class, Right.class));
+    }
+
+    /**
+     * 属性和方法注入的单例循环依赖通过提前暴露的引用解决，不需要Provider
+     */
+    @Test
+    public void testEarlySingletonReference() {
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.NONE).build();
+        ac.registerBeans(Arrays.asList(Pilot.class, Plane.class));
+        Pilot pilot = ac.getBean(Pilot.class);
+        Plane plane = ac.getBean(Plane.class);
+        Assert.assertSame(plane, pilot.getPlane());
+        Assert.assertSame(pilot, plane.getPilot());
+    }
+
+    /**
+     * 循环依赖中对方已经注入了提前暴露的原始对象，处理器再替换该单例时报错，而不是留下两个身份
+     */
+    @Test(expected = CircularDependencyException.class)
+    public void testEarlyReferenceReplacedByProcessor() {
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.NONE).build();
+        ac.addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Set<Class<?>> getTargetTypes() {
+                return Collections.singleton(Pilot.class);
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, Class<?> beanClass) {
+                return new Pilot();
+            }
+        });
+        ac.registerBeans(Arrays.asList(Pilot.class, Plane.class));
     }
 
     @Test
@@ -94,6 +224,277 @@ public class IocTest {
         Assert.assertNotSame(cdObject1, cdObject2);
     }
 
+    /**
+     * 软引用单例超出预算后被淘汰，下次获取时重建
+     */
+    @Test
+    public void testSoftSingletonEvictAndRebuild(){
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.NONE).build();
+        ac.registerBean(LookupTable.class);
+        ac.registerBean(LargeIndex.class);
+        LookupTable table = ac.getBean(LookupTable.class);
+        Assert.assertSame(table, ac.getBean(LookupTable.class));
+        // 预算只够一个实例，最久未使用的LargeIndex被淘汰
+        ac.setSoftSingletonBudget(1);
+        long evictions = ac.getSoftSingletonEvictionCount();
+        long rebuilds = ac.getSoftSingletonRebuildCount();
+        // 重建LargeIndex会淘汰LookupTable
+        ac.getBean(LargeIndex.class);
+        Assert.assertEquals(evictions + 1, ac.getSoftSingletonEvictionCount());
+        Assert.assertNotSame(table, ac.getBean(LookupTable.class));
+        Assert.assertEquals(rebuilds + 2, ac.getSoftSingletonRebuildCount());
+    }
+
+    /**
+     * 模板多例：单例属性共享，多例属性重新注入
+     */
+    @Test
+    public void testTemplatePrototype(){
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.NONE).build();
+        ac.registerBean(ReportConfig.class);
+        ac.registerBean(ReportBuffer.class);
+        ac.registerBean(Report.class);
+        Report report1 = ac.getBean(Report.class);
+        Report report2 = ac.getBean(Report.class);
+        Assert.assertNotSame(report1, report2);
+        Assert.assertSame(ac.getBean(ReportConfig.class), report1.getConfig());
+        Assert.assertSame(report1.getConfig(), report2.getConfig());
+        Assert.assertNotNull(report2.getBuffer());
+        Assert.assertNotSame(report1.getBuffer(), report2.getBuffer());
+        Assert.assertEquals(20, report2.getPageSize());
+        // 有可变的Number属性时不使用模板，每个实例持有自己的计数器
+        ac.registerBean(PageCounter.class);
+        PageCounter counter1 = ac.getBean(PageCounter.class);
+        PageCounter counter2 = ac.getBean(PageCounter.class);
+        Assert.assertSame(counter1.getConfig(), counter2.getConfig());
+        Assert.assertNotSame(counter1.getPrinted(), counter2.getPrinted());
+    }
+
+    /**
+     * 构建器创建的容器之间互不影响
+     */
+    @Test
+    public void testIndependentContexts() throws Exception {
+        CompletableFuture<ApplicationContext> future1 = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.bean").buildAsync();
+        CompletableFuture<ApplicationContext> future2 = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.bean", "com.zc.test.template")
+                .parallelism(2).buildAsync();
+        ApplicationContext ac1 = future1.get();
+        ApplicationContext ac2 = future2.get();
+        Assert.assertNotNull(ac1.getBean(Action.class));
+        Assert.assertNotSame(ac1.getBean(Action.class), ac2.getBean(Action.class));
+        Assert.assertNull(ac1.getBean(Report.class));
+        Assert.assertNotNull(ac2.getBean(Report.class));
+        Assert.assertNull(ac2.getBean(ProviderA.class));
+    }
+
+    /**
+     * 在单线程的线程池上异步创建并行扫描的容器，扫描任务由创建线程执行，不会等待自身
+     */
+    @Test
+    public void testBuildAsyncOnSingleThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ApplicationContext ac = ApplicationContext.builder().executor(executor).parallelism(4)
+                    .scanMode(ScanMode.PACKAGES).packages("com.zc.test.bean", "com.zc.test.template")
+                    .buildAsync().get(20, TimeUnit.SECONDS);
+            Assert.assertNotNull(ac.getBean(Action.class));
+            Assert.assertNotNull(ac.getBean(Report.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 延迟模式下单例在第一次获取时创建
+     */
+    @Test
+    public void testLazyContext(){
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.template").lazy(true).build();
+        Report report = ac.getBean(Report.class);
+        Assert.assertSame(ac.getBean(ReportConfig.class), report.getConfig());
+        Assert.assertNotNull(report.getBuffer());
+    }
+
+    /**
+     * 子容器覆盖父容器的bean，其余bean共享父容器
+     */
+    @Test
+    public void testChildContext(){
+        ApplicationContext parent = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.template").build();
+        ApplicationContext child = parent.createChild();
+        child.registerBean(TenantReportConfig.class, "reportConfig");
+        Assert.assertTrue(child.getBean(Report.class).getConfig() instanceof TenantReportConfig);
+        Assert.assertFalse(parent.getBean(Report.class).getConfig() instanceof TenantReportConfig);
+        Assert.assertSame(child.getBean(ReportConfig.class), child.getBean(Report.class).getConfig());
+        Assert.assertNotNull(child.getBean(ReportBuffer.class));
+    }
+
+    /**
+     * 子容器的Module登记的限定注解不影响父容器
+     */
+    @Test
+    public void testChildQualifierIsolation() {
+        ApplicationContext parent = ApplicationContext.builder().scanMode(ScanMode.NONE).modules(binder -> {
+            binder.bind(Greeting.class).to(EnglishGreeting.class).asSingleton();
+            binder.bind(GreetingService.class);
+        }).build();
+        ApplicationContext child = parent.createChild();
+        child.install(binder -> binder.bind(Greeting.class).annotatedWith(Loud.class).toSupplier(LoudGreeting::new));
+        Assert.assertTrue(child.getBean(GreetingService.class).getLoudGreeting() instanceof LoudGreeting);
+        // 父容器中@Loud不是限定注解，按类型注入
+        Assert.assertTrue(parent.getBean(GreetingService.class).getLoudGreeting() instanceof EnglishGreeting);
+    }
+
+    /**
+     * 按限定注解注入：属性值（包括注解类型的属性）要完全相同，按名称注入不受限定注解影响，没有匹配时不注入，多个匹配时先注册的生效
+     */
+    @Test
+    public void testQualifierLookup() {
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.PACKAGES).packages("com.zc.test.qualifier").build();
+        Storefront storefront = ac.getBean(Storefront.class);
+        Assert.assertTrue(storefront.getEast() instanceof EastStore);
+        Assert.assertTrue(storefront.getWest() instanceof WestStore);
+        Assert.assertNull(storefront.getWestDefaultZone());
+        Assert.assertNull(storefront.getNorth());
+        Assert.assertSame(ac.getBean(WestStore.class), storefront.getNamed());
+        // 注解类型的属性按嵌套注解的属性值匹配
+        Assert.assertTrue(storefront.getWarehouse() instanceof EastWarehouse);
+        Assert.assertNull(storefront.getMissingWarehouse());
+        // 已有@Region("east")的bean，后注册的不覆盖
+        ac.registerBean(BackupEastStore.class);
+        Storefront next = ac.getBean(Storefront.class);
+        Assert.assertNotSame(storefront, next);
+        Assert.assertSame(storefront.getEast(), next.getEast());
+        Assert.assertNull(next.getNorth());
+    }
+
+    /**
+     * 只通过Module注册bean，不扫描
+     */
+    @Test
+    public void testModuleBindings(){
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.NONE).modules(binder -> {
+            binder.bind(Greeting.class).to(EnglishGreeting.class).asSingleton();
+            binder.bind(Greeting.class).annotatedWith(Loud.class).toSupplier(LoudGreeting::new);
+            binder.bind(GreetingService.class);
+            binder.bind(String.class).named("greetingPrefix").toInstance("hi");
+        }).build();
+        GreetingService service = ac.getBean(GreetingService.class);
+        Assert.assertTrue(service.getGreeting() instanceof EnglishGreeting);
+        Assert.assertSame(ac.getBean(Greeting.class), service.getGreeting());
+        Assert.assertTrue(service.getLoudGreeting() instanceof LoudGreeting);
+        Assert.assertNotSame(service.getLoudGreeting(), ac.getBean(GreetingService.class).getLoudGreeting());
+        Assert.assertEquals("hi", ac.getBean("greetingPrefix"));
+    }
+
+    /**
+     * 配置类中的@Provides方法，配置类延迟创建
+     */
+    @Test
+    public void testProvidesMethods(){
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.provides").build();
+        Assert.assertSame(StandardCharsets.UTF_8, ac.getBean(Charset.class));
+        CharsetEncoder encoder = ac.getBean(CharsetEncoder.class);
+        Assert.assertEquals(StandardCharsets.UTF_8, encoder.charset());
+        Assert.assertNotSame(encoder, ac.getBean(CharsetEncoder.class));
+        Assert.assertEquals("\n", ac.getBean("lineSeparator"));
+        // 延迟模式下配置类在第一次调用实例方法时才创建，静态方法不需要实例
+        int instances = CodecConfiguration.INSTANCES.get();
+        ApplicationContext lazy = ApplicationContext.builder().lazy(true)
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.provides").build();
+        Assert.assertEquals("\n", lazy.getBean("lineSeparator"));
+        Assert.assertEquals(instances, CodecConfiguration.INSTANCES.get());
+        lazy.getBean(Charset.class);
+        lazy.getBean(CharsetEncoder.class);
+        Assert.assertEquals(instances + 1, CodecConfiguration.INSTANCES.get());
+    }
+
+    /**
+     * 批量注册：先登记定义，再创建单例
+     */
+    @Test
+    public void testRegisterBeans(){
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.NONE).build();
+        ac.registerBeans(Arrays.asList(Report.class, ReportBuffer.class, ReportConfig.class));
+        Report report = ac.getBean(Report.class);
+        Assert.assertSame(ac.getBean(ReportConfig.class), report.getConfig());
+        Assert.assertNotNull(report.getBuffer());
+    }
+
+    /**
+     * 集合注入：注入所有实现，Map的key是bean名称
+     */
+    @Test
+    public void testMultiBinding(){
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.multibinding").build();
+        HandlerRegistry registry = ac.getBean(HandlerRegistry.class);
+        Assert.assertEquals(2, registry.getHandlers().size());
+        Assert.assertTrue(registry.getHandlers().contains(ac.getBean(JsonHandler.class)));
+        Assert.assertTrue(registry.getHandlers().contains(ac.getBean(XmlHandler.class)));
+        Assert.assertEquals(registry.getHandlers(), new ArrayList<>(registry.getHandlerSet()));
+        Assert.assertSame(ac.getBean(JsonHandler.class), registry.getHandlerMap().get("jsonHandler"));
+        Assert.assertSame(ac.getBean(XmlHandler.class), registry.getHandlerMap().get("xmlHandler"));
+    }
+
+    /**
+     * 按完整的泛型类型注入
+     */
+    @Test
+    public void testGenericTypeBindings(){
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.generic").build();
+        RepositoryService service = ac.getBean(RepositoryService.class);
+        Assert.assertSame(ac.getBean(UserRepository.class), service.getUserRepository());
+        Assert.assertSame(ac.getBean(OrderRepository.class), service.getOrderRepositoryProvider().get());
+        Assert.assertSame(ac.getBean(OrderRepository.class), service.getOrderRepository());
+        Assert.assertSame(ac.getBean(UserRepository.class), ac.getBean(new TypeLiteral<Repository<User>>() {}));
+        Assert.assertSame(ac.getBean(OrderRepository.class), ac.getBean(new TypeLiteral<Repository<Order>>() {}));
+    }
+
+    /**
+     * 启动后的补充注入只处理没有注入的属性，已注入的多例不重新创建，@Lazy代理不被替换
+     */
+    @Test
+    public void testEagerGenericFieldsInjectedOnce(){
+        int instances = OrderAudit.INSTANCES.get();
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.generic").build();
+        AuditedOrders orders = ac.getBean(AuditedOrders.class);
+        Assert.assertTrue(orders.getAudit() instanceof OrderAudit);
+        Assert.assertEquals(instances + 1, OrderAudit.INSTANCES.get());
+        Assert.assertFalse(orders.getUsers() instanceof UserRepository);
+        Assert.assertEquals(User.class, orders.getUsers().getEntityType());
+    }
+
+    /**
+     * 延迟注入：第一次调用接口方法时才创建真正的bean，equals、hashCode和toString不会触发，代理类只生成一次
+     */
+    @Test
+    public void testLazyInjection(){
+        ApplicationContext ac = ApplicationContext.builder().lazy(true)
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.lazy").build();
+        int instances = HeavyServiceImpl.INSTANCES.get();
+        ReportJob job1 = ac.getBean(ReportJob.class);
+        ReportJob job2 = ac.getBean(ReportJob.class);
+        // Object的方法不会触发获取
+        Assert.assertNotEquals(job1.getHeavyService(), job2.getHeavyService());
+        Assert.assertEquals(System.identityHashCode(job1.getHeavyService()), job1.getHeavyService().hashCode());
+        Assert.assertTrue(job1.getHeavyService().toString().contains(HeavyService.class.getName()));
+        Assert.assertEquals(instances, HeavyServiceImpl.INSTANCES.get());
+        Assert.assertSame(job1.getHeavyService().getClass(), job2.getHeavyService().getClass());
+        Assert.assertEquals(4, job1.getHeavyService().compute(2));
+        Assert.assertEquals(6, job2.getHeavyService().compute(3));
+        Assert.assertEquals(instances + 1, HeavyServiceImpl.INSTANCES.get());
+        // 包内可见的接口
+        Assert.assertEquals(42L, job1.now());
+    }
+
     @Data
     static class ZcTest{
         private Student student1;
@@ -101,4 +502,310 @@ public class IocTest {
     }
 
 
+
+    /**
+     * 按需启动：第一次获取包中的bean时才扫描该包，其它包保持未启动；按间接实现的接口获取时同样启动
+     */
+    @Test
+    public void testOnDemandModules() {
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.ondemand", "com.zc.test.template", "com.zc.test.ledger")
+                .onDemand(true).build();
+        Assert.assertEquals(0, Inventory.INSTANCES.get());
+        Assert.assertTrue(ac.getModuleActivationTimes().isEmpty());
+        InventoryService service = ac.getBean(InventoryService.class);
+        Assert.assertNotNull(service);
+        Assert.assertSame(ac.getBean(Inventory.class), service.getInventory());
+        Assert.assertEquals(1, Inventory.INSTANCES.get());
+        Assert.assertTrue(ac.getModuleActivationTimes().containsKey("com.zc.test.ondemand"));
+        Assert.assertFalse(ac.getModuleActivationTimes().containsKey("com.zc.test.template"));
+        // 只通过父类间接实现的接口也能找到声明它的包
+        Assert.assertFalse(ac.getModuleActivationTimes().containsKey("com.zc.test.ledger"));
+        Assert.assertTrue(ac.getBean(Ledger.class) instanceof CashLedger);
+        Assert.assertTrue(ac.getModuleActivationTimes().containsKey("com.zc.test.ledger"));
+    }
+
+    /**
+     * 条件注册：条件不满足的类不加载，@ConditionalOnMissingBean在其它bean登记后判断
+     */
+    @Test
+    public void testConditionalBeans() {
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.conditional").build();
+        Assert.assertEquals("default", ac.getBean(Codec.class).name());
+        Assert.assertFalse(IntegrationProbe.INITIALIZED.get());
+        System.setProperty("zc.codec.fast", "true");
+        try {
+            ApplicationContext fast = ApplicationContext.builder()
+                    .scanMode(ScanMode.PACKAGES).packages("com.zc.test.conditional").build();
+            Assert.assertEquals("fast", fast.getBean(Codec.class).name());
+            Assert.assertNotNull(fast.getBean(FastCodec.class));
+            Assert.assertNull(fast.getBean(DefaultCodec.class));
+        } finally {
+            System.clearProperty("zc.codec.fast");
+        }
+        Assert.assertFalse(IntegrationProbe.INITIALIZED.get());
+    }
+
+    /**
+     * 生命周期：依赖的单例先启动，依赖它的单例先关闭，关闭超时不会阻塞容器关闭
+     */
+    @Test
+    public void testLifecycle() {
+        LifecycleEvents.EVENTS.clear();
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.lifecycle")
+                .parallelism(2).shutdownTimeout(200, TimeUnit.MILLISECONDS).build();
+        Assert.assertEquals(Arrays.asList("start database", "start cache"), LifecycleEvents.EVENTS);
+        long start = System.nanoTime();
+        ac.close();
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 3000);
+        Assert.assertTrue(ac.isClosed());
+        Assert.assertEquals(Arrays.asList("start database", "start cache", "stop cache", "stop database"), LifecycleEvents.EVENTS);
+    }
+
+    /**
+     * 拦截的单例在属性注入的循环依赖中，对方拿到的提前暴露的引用就是最终的代理
+     */
+    @Test
+    public void testInterceptedEarlyReference() {
+        ApplicationContext ac = ApplicationContext.builder().scanMode(ScanMode.NONE).build();
+        ac.registerBeans(Arrays.asList(TracingInterceptor.class, Alpha.class, Beta.class));
+        Alpha alpha = ac.getBean(Alpha.class);
+        Beta beta = ac.getBean(Beta.class);
+        Assert.assertTrue(alpha instanceof InterceptedProxy);
+        Assert.assertSame(alpha, beta.getAlpha());
+        Assert.assertSame(beta, alpha.getBeta());
+        Assert.assertEquals("alpha", beta.getAlpha().greet());
+        Assert.assertEquals(Collections.singletonList("greet"), ac.getBean(TracingInterceptor.class).getCalls());
+    }
+
+    /**
+     * 后置处理器只处理匹配的类
+     */
+    @Test
+    public void testBeanPostProcessor() {
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.postprocessor").build();
+        AuditedService service = ac.getBean(AuditedService.class);
+        Assert.assertTrue(service.isAudited());
+        Assert.assertNotSame(service, ac.getBean(AuditedService.class));
+        Assert.assertNotNull(ac.getBean(PlainService.class));
+        Assert.assertEquals(Collections.singleton(AuditedService.class), ac.getBean(AuditProcessor.class).getProcessedClasses());
+    }
+
+    /**
+     * 拦截器：绑定注解和@Interceptors指定的拦截器只拦截对应的方法
+     */
+    @Test
+    public void testInterceptors() {
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.interceptor").build();
+        OrderService orderService = ac.getBean(OrderService.class);
+        Assert.assertTrue(orderService instanceof InterceptedProxy);
+        Assert.assertEquals("placed book", orderService.place("book"));
+        Assert.assertEquals("ok", orderService.status());
+        Assert.assertEquals(Collections.singletonList("place"), ac.getBean(TracingInterceptor.class).getCalls());
+        Assert.assertEquals(2, orderService.flaky());
+    }
+
+    /**
+     * @Async方法在指定的执行器中执行，容器关闭时关闭执行器；返回类型不是void或future的方法报错
+     */
+    @Test
+    public void testAsync() throws Exception {
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.async")
+                .asyncExecutor(AsyncExecutor.fixed("reportExecutor", 2)).build();
+        MailSender mailSender = ac.getBean(MailSender.class);
+        String result = mailSender.send("a").get(5, TimeUnit.SECONDS);
+        Assert.assertTrue(result.endsWith(":a"));
+        Assert.assertNotEquals(Thread.currentThread().getName() + ":a", result);
+        CountDownLatch latch = new CountDownLatch(1);
+        mailSender.report(latch);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // 类上的@Async只异步执行可以异步的方法，getter同步返回
+        BatchJob batchJob = ac.getBean(BatchJob.class);
+        Assert.assertEquals("batch", batchJob.getName());
+        CountDownLatch batchLatch = new CountDownLatch(1);
+        batchJob.run(batchLatch);
+        Assert.assertTrue(batchLatch.await(5, TimeUnit.SECONDS));
+        ac.close();
+        Map<String, AsyncExecutor.Metrics> metrics = ac.getAsyncExecutorMetrics();
+        Assert.assertEquals(2, metrics.get(AsyncExecutor.DEFAULT_NAME).getCompletedCount());
+        Assert.assertEquals(1, metrics.get("reportExecutor").getCompletedCount());
+        Assert.assertEquals(0, metrics.get("reportExecutor").getQueueDepth());
+        Assert.assertTrue(((AsyncExecutor) ac.getBean("reportExecutor")).isShutdown());
+        // 执行器关闭后，两种返回类型都不把拒绝抛给调用方
+        mailSender.report(new CountDownLatch(1));
+        Assert.assertTrue(mailSender.send("b").isCompletedExceptionally());
+        // 默认执行器在启动时注册，延迟模式下还没有创建任何bean时也存在
+        ApplicationContext lazyContext = ApplicationContext.builder().lazy(true)
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.asyncreturn").build();
+        Assert.assertTrue(lazyContext.getAsyncExecutorMetrics().containsKey(AsyncExecutor.DEFAULT_NAME));
+        try {
+            lazyContext.getBean(UntypedTask.class);
+            Assert.fail();
+        } catch (BeanCreationException e) {
+            Assert.assertTrue(e.getMessage().contains("run"));
+        }
+        lazyContext.close();
+    }
+
+    /**
+     * @Cacheable方法相同参数只执行一次，缓存可以按名称注入后移除条目；不同方法不能共用缓存名称；频率高的条目不会被淘汰
+     */
+    @Test
+    public void testCacheable() {
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.cache").build();
+        ProfileService profileService = ac.getBean(ProfileService.class);
+        Assert.assertEquals("user-1", profileService.findName(1));
+        Assert.assertEquals("user-1", profileService.findName(1));
+        Assert.assertEquals(1, profileService.getLoads());
+        ac.getBean(UserCacheAdmin.class).evict(1L);
+        profileService.findName(1);
+        Assert.assertEquals(2, profileService.getLoads());
+        BoundedCache.Stats stats = ac.getCacheStats().get("users");
+        Assert.assertEquals(1, stats.getHitCount());
+        Assert.assertEquals(2, stats.getMissCount());
+        try {
+            ac.registerBean(NameLookup.class);
+            Assert.fail();
+        } catch (BeanCreationException e) {
+            Assert.assertTrue(e.getMessage().contains("users"));
+        }
+        // 频率高的条目不会被只访问一次的条目挤出
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>("bounded", 100);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(i, key -> key);
+            }
+        }
+        for (int i = 1000; i < 2000; i++) {
+            cache.get(i, key -> key);
+        }
+        Assert.assertTrue(cache.size() <= 100);
+        Assert.assertTrue(cache.getStats().getEvictionCount() >= 900);
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            retained += null == cache.get(i) ? 0 : 1;
+        }
+        Assert.assertTrue(retained >= 45);
+    }
+
+    /**
+     * 发布事件，同步订阅者按发布顺序收到（包括只订阅了接口的），异步订阅者在线程池中按顺序收到
+     */
+    @Test
+    public void testPublish() throws Exception {
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.event").build();
+        AuditTrail auditTrail = ac.getBean(AuditTrail.class);
+        ShippingNotifier notifier = ac.getBean(ShippingNotifier.class);
+        for (long orderId = 0; orderId < 1000; orderId++) {
+            ac.publish(new OrderPlaced(orderId));
+        }
+        // 只订阅了接口的事件同样收到，没有订阅者的事件被忽略
+        ac.publish(new DomainEvent() {
+        });
+        ac.publish("unrelated");
+        Assert.assertEquals(1001, auditTrail.getEvents().size());
+        for (long orderId = 0; orderId < 1000; orderId++) {
+            String notified = notifier.getNotified().poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(notified);
+            Assert.assertTrue(notified.endsWith(":" + orderId));
+            Assert.assertNotEquals(Thread.currentThread().getName() + ":" + orderId, notified);
+        }
+        ac.close();
+    }
+
+    /**
+     * @Scheduled方法在容器启动完成后按固定频率和固定延迟执行，关闭容器后不再执行
+     */
+    @Test
+    public void testScheduled() throws Exception {
+        ApplicationContext ac = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.scheduled").build();
+        Heartbeat heartbeat = ac.getBean(Heartbeat.class);
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((heartbeat.getBeats() < 3 || heartbeat.getSweeps() < 3) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(heartbeat.getBeats() >= 3);
+        Assert.assertTrue(heartbeat.getSweeps() >= 3);
+        Assert.assertTrue(heartbeat.isStartedBeforeFirstBeat());
+        ac.close();
+        int beats = heartbeat.getBeats();
+        int sweeps = heartbeat.getSweeps();
+        Thread.sleep(100);
+        Assert.assertEquals(beats, heartbeat.getBeats());
+        Assert.assertEquals(sweeps, heartbeat.getSweeps());
+    }
+
+    /**
+     * @Value从系统属性和配置文件中取值并转换类型，单例、模板原型和构造方法参数都能注入
+     */
+    @Test
+    public void testValue() throws Exception {
+        Path file = Files.createTempFile("zc-value", ".properties");
+        Files.write(file, Arrays.asList("zc.value.host=example.org", "zc.value.port=9000", "zc.value.timeout=30s"), StandardCharsets.UTF_8);
+        System.setProperty("zc.value.port", "9100");
+        ApplicationContext ac;
+        try {
+            ac = ApplicationContext.builder().propertySources(file.toString())
+                    .scanMode(ScanMode.PACKAGES).packages("com.zc.test.value").build();
+        } finally {
+            System.clearProperty("zc.value.port");
+            Files.delete(file);
+        }
+        ServerSettings settings = ac.getBean(ServerSettings.class);
+        Assert.assertEquals("example.org", settings.getHost());
+        // 系统属性优先于配置文件，容器创建后不再读取
+        Assert.assertEquals(9100, settings.getPort());
+        Assert.assertEquals(Duration.ofSeconds(30), settings.getTimeout());
+        Assert.assertEquals(TimeUnit.SECONDS, settings.getUnit());
+        Assert.assertEquals("http://example.org:9100/", settings.getBaseUrl());
+        Assert.assertEquals("9100", ac.getProperty("zc.value.port"));
+        RequestHandler handler = ac.getBean(RequestHandler.class);
+        Assert.assertNotSame(handler, ac.getBean(RequestHandler.class));
+        Assert.assertEquals(3, handler.getRetries());
+        Assert.assertEquals(0.25, handler.getSampling(), 0);
+        Connection connection = ac.getBean(Connection.class);
+        Assert.assertEquals(Duration.ofSeconds(30), connection.getTimeout());
+        Assert.assertSame(settings, connection.getSettings());
+    }
+
+    /**
+     * 配置文件被替换后自动重新加载，RateLimiter收到变更的key，ConfigView读到新版本的值；被系统属性覆盖的配置项不算变更
+     */
+    @Test
+    public void testReloadProperties() throws Exception {
+        Path directory = Files.createTempDirectory("zc-reload");
+        Path file = directory.resolve("reload.properties");
+        Files.write(file, Arrays.asList("zc.reload.permits=10", "zc.reload.name=a"), StandardCharsets.UTF_8);
+        System.setProperty("zc.reload.name", "system");
+        ApplicationContext ac = ApplicationContext.builder().propertySources(file.toString()).watchPropertySources(true)
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.reload").build();
+        try {
+            RateLimiter rateLimiter = ac.getBean(RateLimiter.class);
+            ConfigView configView = ac.getBean(ConfigView.class);
+            Assert.assertEquals(10, rateLimiter.getPermitsPerSecond());
+            // 先写临时文件再替换，和编辑器保存的方式一致
+            Path temp = directory.resolve("reload.properties.tmp");
+            Files.write(temp, Arrays.asList("zc.reload.permits=20", "zc.reload.name=b"), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Set<String> changedKeys = rateLimiter.getChanges().poll(20, TimeUnit.SECONDS);
+            Assert.assertEquals(Collections.singleton("zc.reload.permits"), changedKeys);
+            Assert.assertEquals(20, rateLimiter.getPermitsPerSecond());
+            Assert.assertEquals("20", configView.get("zc.reload.permits"));
+            Assert.assertEquals(1, configView.getVersion());
+            Assert.assertEquals("system", configView.get("zc.reload.name"));
+        } finally {
+            System.clearProperty("zc.reload.name");
+            ac.close();
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
 }
@@ -0,0 +1,92 @@
+package com.zc;
+
+import com.zc.support.ApplicationContext;
+import com.zc.support.PluginContext;
+import com.zc.support.ScanMode;
+import com.zc.test.template.ReportConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * @author zhaochang.
+ * @Date 2026/10/19.
+ * @desc 插件加载和卸载
+ */
+public class PluginContextTest {
+
+    private static final String PLUGIN_SOURCE = "package plugin.greeter;\n"
+            + "import com.zc.annotation.Inject;\n"
+            + "import com.zc.annotation.Named;\n"
+            + "import com.zc.test.template.ReportConfig;\n"
+            + "@Named\n"
+            + "public class Greeter {\n"
+            + "    @Inject\n"
+            + "    ReportConfig config;\n"
+            + "}\n";
+
+    /**
+     * 插件中的bean可以注入父容器的bean，卸载插件后插件的类加载器可以被回收
+     */
+    @Test
+    public void testLoadAndUnloadPlugin() throws Exception {
+        ApplicationContext host = ApplicationContext.builder()
+                .scanMode(ScanMode.PACKAGES).packages("com.zc.test.template").build();
+        URL jar = buildPluginJar();
+        WeakReference<ClassLoader> loaderReference = loadAndClose(host, jar);
+        for (int i = 0; i < 50 && null != loaderReference.get(); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertNull("plugin class loader should be collectable", loaderReference.get());
+        Assert.assertNotNull(host.getBean(ReportConfig.class));
+    }
+
+    private WeakReference<ClassLoader> loadAndClose(ApplicationContext host, URL jar) throws Exception {
+        PluginContext plugin = host.loadPlugin(new URL[]{jar}, "plugin.greeter");
+        Object greeter = plugin.getContext().getBean("greeter");
+        Assert.assertNotNull(greeter);
+        Assert.assertSame(plugin.getClassLoader(), greeter.getClass().getClassLoader());
+        Field config = greeter.getClass().getDeclaredField("config");
+        config.setAccessible(true);
+        Assert.assertSame(host.getBean(ReportConfig.class), config.get(greeter));
+        WeakReference<ClassLoader> reference = new WeakReference<>(plugin.getClassLoader());
+        plugin.close();
+        return reference;
+    }
+
+    private URL buildPluginJar() throws IOException {
+        Path dir = Files.createTempDirectory("plugin");
+        Path source = dir.resolve("plugin/greeter/Greeter.java");
+        Files.createDirectories(source.getParent());
+        Files.write(source, PLUGIN_SOURCE.getBytes(StandardCharsets.UTF_8));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+                "-d", dir.toString(), source.toString());
+        Assert.assertEquals(0, result);
+        File jar = dir.resolve("greeter.jar").toFile();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry("plugin/"));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("plugin/greeter/"));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry("plugin/greeter/Greeter.class"));
+            out.write(Files.readAllBytes(dir.resolve("plugin/greeter/Greeter.class")));
+            out.closeEntry();
+        }
+        return jar.toURI().toURL();
+    }
+}
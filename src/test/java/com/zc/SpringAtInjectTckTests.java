@@ -23,6 +23,9 @@ import com.zc.test.bean.tck.auto.accessories.Cupholder;
 import com.zc.test.bean.tck.auto.accessories.SpareTire;
 import junit.framework.Test;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * @author Juergen Hoeller
  * @since 3.0
@@ -32,14 +35,16 @@ public class SpringAtInjectTckTests {
 	@SuppressWarnings("unchecked")
 	public static Test suite() {
 		ApplicationContext ac = ApplicationContext.createApplicationContext();
-		ac.registerBean(Convertible.class);
-		ac.registerBean(DriversSeat.class);
-		ac.registerBean(Seat.class);
-		ac.registerBean(V8Engine.class);
-		ac.registerBean(SpareTire.class, "spare");
-		ac.registerBean(Cupholder.class);
-		ac.registerBean(Tire.class);
-		ac.registerBean(FuelTank.class);
+		Map<Class<?>, String> beanClasses = new LinkedHashMap<>();
+		beanClasses.put(Convertible.class, null);
+		beanClasses.put(DriversSeat.class, null);
+		beanClasses.put(Seat.class, null);
+		beanClasses.put(V8Engine.class, null);
+		beanClasses.put(SpareTire.class, "spare");
+		beanClasses.put(Cupholder.class, null);
+		beanClasses.put(Tire.class, null);
+		beanClasses.put(FuelTank.class, null);
+		ac.registerBeans(beanClasses);
 		Car car = ac.getBean(Car.class);
 
 		return Tck.testsFor(car, false, true);